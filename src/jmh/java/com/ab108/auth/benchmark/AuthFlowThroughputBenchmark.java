@@ -0,0 +1,124 @@
+package com.ab108.auth.benchmark;
+
+import com.ab108.auth.AuthApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실제 Tomcat 위에서 signin → logout 흐름의 처리량을 요청 처리 스레드 모델별로 비교.
+ * <ul>
+ *   <li>platform: 요청당 platform thread (server.tomcat.threads.max 가 동시 처리 상한)</li>
+ *   <li>virtual: spring.threads.virtual.enabled=true (요청당 virtual thread, BCrypt 는 password-hashing 풀에서만 실행)</li>
+ * </ul>
+ * 클라이언트 동시성(@Threads)을 Tomcat 스레드 수보다 크게 두어 platform 모델의 스레드 상한에 걸리도록 한다.
+ * 점수는 흐름(signin + logout) 수/sec 이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(256)
+public class AuthFlowThroughputBenchmark {
+
+  private static final int USERS = 256;
+  private static final String PASSWORD = "password123";
+
+  @Param({"platform", "virtual"})
+  public String threadMode;
+
+  @Param({"64"})
+  public int tomcatThreads; // platform 모드의 server.tomcat.threads.max
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private String baseUrl;
+
+  @State(Scope.Thread)
+  public static class Caller {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    String email;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      email = email(SEQUENCE.getAndIncrement() % USERS);
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    context = new SpringApplicationBuilder(AuthApplication.class)
+      .properties(
+        "server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:flow-bench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "revocation.store.enabled=false",
+        "spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+        "server.tomcat.threads.max=" + tomcatThreads,
+        "password-hashing.bcrypt.strength=10",
+        "password-hashing.queue-capacity=1024",
+        // 같은 IP 에서 반복 로그인하므로 시도 제한은 사실상 끔
+        "login-limit.email.capacity=1000000000",
+        "login-limit.email.refill-per-minute=1000000000",
+        "login-limit.ip.capacity=1000000000",
+        "login-limit.ip.refill-per-minute=1000000000"
+      )
+      .run();
+    baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    for (int i = 0; i < USERS; i++) {
+      String body = "{\"email\":\"" + email(i) + "\",\"password\":\"" + PASSWORD + "\",\"username\":\"bench" + i + "\"}";
+      HttpResponse<String> response = client.send(post("/users/signup", body, null), HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        throw new IllegalStateException("signup failed: " + response.statusCode() + " " + response.body());
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int signinAndLogout(Caller caller) throws Exception {
+    String body = "{\"email\":\"" + caller.email + "\",\"password\":\"" + PASSWORD + "\"}";
+    HttpResponse<String> signin = client.send(post("/users/signin", body, null), HttpResponse.BodyHandlers.ofString());
+    if (signin.statusCode() != 200) {
+      throw new IllegalStateException("signin failed: " + signin.statusCode() + " " + signin.body());
+    }
+
+    HttpResponse<Void> logout = client.send(post("/users/logout", "", token(signin.body())),
+      HttpResponse.BodyHandlers.discarding());
+    return logout.statusCode();
+  }
+
+  private HttpRequest post(String path, String body, String token) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(body));
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder.build();
+  }
+
+  private static String token(String loginResponse) {
+    int start = loginResponse.indexOf("\"token\":\"") + 9;
+    return loginResponse.substring(start, loginResponse.indexOf('"', start));
+  }
+
+  private static String email(int index) {
+    return "bench" + index + "@example.com";
+  }
+}
@@ -0,0 +1,49 @@
+package com.ab108.auth.benchmark;
+
+import com.ab108.auth.entity.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * UserLogInsertBenchmark 의 비교 기준용 엔티티.
+ * UserLog 와 같은 컬럼이지만 이전처럼 IDENTITY 로 id 를 받으므로, Hibernate 가 INSERT 를 JDBC batch 로 묶지 못한다.
+ * jmh 소스셋에만 있으므로 애플리케이션 스키마에는 생기지 않는다.
+ */
+@Entity
+@Table(name = "user_logs_identity")
+@Getter
+@NoArgsConstructor
+public class IdentityUserLog {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id")
+  private User user;
+
+  @Column(nullable = false)
+  private String logType;
+
+  @Column(nullable = false)
+  private LocalDateTime timestamp;
+
+  @Column(nullable = true, length = 500)
+  private String message;
+
+  @Column(name = "log_date", nullable = false)
+  private LocalDate logDate;
+
+  public IdentityUserLog(User user, String logType, LocalDateTime timestamp, String message) {
+    this.user = user;
+    this.logType = logType;
+    this.timestamp = timestamp;
+    this.message = message;
+    this.logDate = timestamp.toLocalDate();
+  }
+}
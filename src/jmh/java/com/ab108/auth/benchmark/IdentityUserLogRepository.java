@@ -0,0 +1,6 @@
+package com.ab108.auth.benchmark;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdentityUserLogRepository extends JpaRepository<IdentityUserLog, Long> {
+}
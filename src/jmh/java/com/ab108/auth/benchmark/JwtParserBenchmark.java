@@ -0,0 +1,66 @@
+package com.ab108.auth.benchmark;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.revocation.LoopbackRevocationEventBus;
+import com.ab108.auth.revocation.NoOpRevocationStore;
+import com.ab108.auth.revocation.RevocationPublisher;
+import com.ab108.auth.utils.InvalidationTable;
+import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.SigningKeyRing;
+import com.ab108.auth.utils.TokenBlacklist;
+import com.ab108.auth.utils.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 parserBuilder() 로 파서를 만드는 방식(이전)과 키마다 한 번 만든 파서를 재사용하는 방식(현재) 비교.
+ * gc 프로파일러의 gc.alloc.rate.norm 값이 요청당 할당 바이트 수이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtParserBenchmark {
+
+  private static final String SECRET = "VlwEyVBsYt9V7zq57TejMnVUyzblYcfPQye08f7MGVA9XkHa";
+
+  private Key key;
+  private JwtParser cachedParser;
+  private JwtUtil jwtUtil;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+    cachedParser = Jwts.parserBuilder().setSigningKey(key).build();
+    long expTime = TimeUnit.DAYS.toMillis(1);
+    jwtUtil = new JwtUtil(new SigningKeyRing(SECRET, "HS256", expTime, null), expTime,
+      new TokenBlacklist(expTime, 1000, 0.01), new InvalidationTable(),
+      new RevocationPublisher(new LoopbackRevocationEventBus(), 512), new NoOpRevocationStore(),
+      new AuthMetrics(new SimpleMeterRegistry()));
+    token = jwtUtil.createAccessToken(1L, "bench@example.com", Authority.ROLE_USER);
+  }
+
+  @Benchmark
+  public Claims parserBuilderPerCall() {
+    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  }
+
+  @Benchmark
+  public Claims cachedParser() {
+    return cachedParser.parseClaimsJws(token).getBody();
+  }
+
+  @Benchmark
+  public VerifiedToken jwtUtilParseToken() {
+    return jwtUtil.parseToken(token);
+  }
+}
@@ -0,0 +1,111 @@
+package com.ab108.auth.benchmark;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.revocation.LoopbackRevocationEventBus;
+import com.ab108.auth.revocation.NoOpRevocationStore;
+import com.ab108.auth.revocation.RevocationPublisher;
+import com.ab108.auth.utils.InvalidationTable;
+import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.SigningKeyRing;
+import com.ab108.auth.utils.TokenBlacklist;
+import com.ab108.auth.utils.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFilter 가 요청마다 거치는 토큰 경로(발급, 검증, Authentication 생성, 블랙리스트, 무효화 기준 시점) 기준선.
+ * 폐기 항목 수(revokedEntries)를 0 / 1만 / 100만으로 바꿔가며 측정하고,
+ * 같은 벤치마크를 단일 스레드(SingleThread)와 코어 수만큼의 스레드(MultiThread)로 각각 실행해 경합 비용을 분리한다.
+ * gc 프로파일러의 gc.alloc.rate.norm 이 호출당 할당 바이트 수이다.
+ *
+ * <pre>./gradlew jmh -Pjmh.includes=TokenPathBenchmark</pre>
+ */
+public class TokenPathBenchmark {
+
+  private static final String SECRET = "VlwEyVBsYt9V7zq57TejMnVUyzblYcfPQye08f7MGVA9XkHa";
+  private static final long EXP_TIME = TimeUnit.DAYS.toMillis(1);
+
+  @State(Scope.Benchmark)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public abstract static class TokenPath {
+
+    @Param({"0", "10000", "1000000"})
+    public int revokedEntries;
+
+    private JwtUtil jwtUtil;
+    private VerifiedToken liveToken;
+    private UUID liveJti;
+    private UUID revokedJti;
+    private long revokedUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      TokenBlacklist blacklist = new TokenBlacklist(EXP_TIME, Math.max(revokedEntries, 1000), 0.01);
+      InvalidationTable invalidationTable = new InvalidationTable();
+      jwtUtil = new JwtUtil(new SigningKeyRing(SECRET, "HS256", EXP_TIME, null), EXP_TIME, blacklist, invalidationTable,
+        new RevocationPublisher(new LoopbackRevocationEventBus(), 512), new NoOpRevocationStore(),
+        new AuthMetrics(new SimpleMeterRegistry()));
+
+      // 폐기 상태는 전파/저장 없이 구조에 직접 채움 (조회 비용만 측정)
+      Random random = new Random(42);
+      long now = System.currentTimeMillis();
+      UUID lastRevoked = UUID.randomUUID();
+      for (int i = 0; i < revokedEntries; i++) {
+        lastRevoked = new UUID(random.nextLong(), random.nextLong());
+        blacklist.add(lastRevoked, now + EXP_TIME);
+        invalidationTable.advance(i + 1_000_000L, now);
+      }
+      revokedJti = lastRevoked;
+      revokedUserId = revokedEntries > 0 ? 1_000_000L : 1L;
+
+      // 폐기되지 않은 토큰 (대부분의 요청)
+      liveToken = jwtUtil.parseToken(jwtUtil.createAccessToken(1L, "bench@example.com", Authority.ROLE_USER));
+      liveJti = liveToken.getJti();
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+      return jwtUtil.createAccessToken(1L, "bench@example.com", Authority.ROLE_USER);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+      return jwtUtil.validateToken(liveToken);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+      return jwtUtil.getAuthentication(liveToken);
+    }
+
+    @Benchmark
+    public boolean isBlacklistedLive() {
+      return jwtUtil.isBlacklisted(liveJti, liveToken.getExpiration());
+    }
+
+    @Benchmark
+    public boolean isBlacklistedRevoked() {
+      return jwtUtil.isBlacklisted(revokedJti, liveToken.getExpiration());
+    }
+
+    @Benchmark
+    public boolean isTokenInvalidated() {
+      return jwtUtil.isTokenInvalidated(revokedUserId, liveToken.getVersion());
+    }
+  }
+
+  @Threads(1)
+  public static class SingleThread extends TokenPath {
+  }
+
+  @Threads(Threads.MAX)
+  public static class MultiThread extends TokenPath {
+  }
+}
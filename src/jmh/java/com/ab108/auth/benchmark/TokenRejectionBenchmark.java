@@ -0,0 +1,114 @@
+package com.ab108.auth.benchmark;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.revocation.LoopbackRevocationEventBus;
+import com.ab108.auth.revocation.NoOpRevocationStore;
+import com.ab108.auth.revocation.RevocationPublisher;
+import com.ab108.auth.utils.InvalidationTable;
+import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.SigningKeyRing;
+import com.ab108.auth.utils.TokenBlacklist;
+import com.ab108.auth.utils.TokenParseResult;
+import com.ab108.auth.utils.TokenStatus;
+import com.ab108.auth.utils.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거절되는 토큰 비율(rejectedPercent)에 따른 JwtFilter 검증 경로 비용.
+ * <ul>
+ *   <li>filterPath: tryParseToken + checkToken (예외 없이 상태 반환, 현재 JwtFilter)</li>
+ *   <li>throwingPath: parseToken + validateToken 을 try/catch 로 감싼 방식 (이전 JwtFilter)</li>
+ * </ul>
+ * filterPath 는 거절 비율이 0% 에서 100% 로 올라가도 호출당 시간과 gc.alloc.rate.norm 이 거의 같아야 한다.
+ * 서명 불일치(bad_signature)는 jjwt 내부에서 예외가 생기므로 두 경로 모두 그 비용은 남는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenRejectionBenchmark {
+
+  private static final String SECRET = "VlwEyVBsYt9V7zq57TejMnVUyzblYcfPQye08f7MGVA9XkHa";
+  private static final long EXP_TIME = TimeUnit.HOURS.toMillis(1);
+  private static final int TOKENS = 1024; // 2의 거듭제곱 (인덱스 마스킹)
+
+  @Param({"0", "50", "100"})
+  public int rejectedPercent;
+
+  @Param({"expired", "blacklisted", "invalidated", "bad_signature"})
+  public String reason;
+
+  private JwtUtil jwtUtil;
+  private String[] tokens;
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    jwtUtil = jwtUtil(EXP_TIME);
+    JwtUtil expiredIssuer = jwtUtil(-1000); // 같은 키, 발급 즉시 만료
+
+    Random random = new Random(42);
+    tokens = new String[TOKENS];
+    for (int i = 0; i < TOKENS; i++) {
+      boolean rejected = random.nextInt(100) < rejectedPercent;
+      tokens[i] = rejected ? rejectedToken(expiredIssuer) : jwtUtil.createAccessToken(1L, "bench@example.com",
+        Authority.ROLE_USER);
+    }
+    if ("invalidated".equals(reason)) {
+      jwtUtil.expireUserTokens(2L); // 사용자 2 의 기존 토큰 전부 무효화
+    }
+  }
+
+  private String rejectedToken(JwtUtil expiredIssuer) {
+    switch (reason) {
+      case "expired":
+        return expiredIssuer.createAccessToken(1L, "bench@example.com", Authority.ROLE_USER);
+      case "blacklisted": {
+        String token = jwtUtil.createAccessToken(1L, "bench@example.com", Authority.ROLE_USER);
+        VerifiedToken verified = jwtUtil.parseToken(token);
+        jwtUtil.addToBlacklist(verified.getJti(), verified.getExpiration());
+        return token;
+      }
+      case "invalidated":
+        return jwtUtil.createAccessToken(2L, "victim@example.com", Authority.ROLE_USER);
+      case "bad_signature": {
+        String token = jwtUtil.createAccessToken(1L, "bench@example.com", Authority.ROLE_USER);
+        return token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+      }
+      default:
+        throw new IllegalArgumentException("Unknown reason: " + reason);
+    }
+  }
+
+  @Benchmark
+  public TokenStatus filterPath(Cursor cursor) {
+    String token = tokens[cursor.next++ & (TOKENS - 1)];
+    TokenParseResult parsed = jwtUtil.tryParseToken(token);
+    return parsed.isParsed() ? jwtUtil.checkToken(parsed.token()) : parsed.status();
+  }
+
+  @Benchmark
+  public boolean throwingPath(Cursor cursor) {
+    String token = tokens[cursor.next++ & (TOKENS - 1)];
+    try {
+      return jwtUtil.validateToken(jwtUtil.parseToken(token));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static JwtUtil jwtUtil(long expTime) {
+    return new JwtUtil(new SigningKeyRing(SECRET, "HS256", expTime, null), expTime,
+      new TokenBlacklist(EXP_TIME, 1000, 0.01), new InvalidationTable(),
+      new RevocationPublisher(new LoopbackRevocationEventBus(), 512), new NoOpRevocationStore(),
+      new AuthMetrics(new SimpleMeterRegistry()));
+  }
+}
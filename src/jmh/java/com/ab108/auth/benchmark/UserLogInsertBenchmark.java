@@ -0,0 +1,116 @@
+package com.ab108.auth.benchmark;
+
+import com.ab108.auth.AuthApplication;
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.entity.User;
+import com.ab108.auth.entity.UserLog;
+import com.ab108.auth.repository.UserLogRepository;
+import com.ab108.auth.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserLogRepository 를 통해 UserLog 1,000,000 건을 저장하는 데 걸리는 시간.
+ * 호출 한 번이 1,000,000 건을 저장하고(SingleShotTime), 점수는 그 시간(초)이다. rows/sec = 1,000,000 / 점수.
+ * <ul>
+ *   <li>identitySaveAll: IDENTITY id 엔티티(IdentityUserLog)를 1,000 건씩 saveAll() (변경 전 매핑, INSERT 가 한 건씩 나감)</li>
+ *   <li>batchedSaveAll: UserLog 를 1,000 건씩 saveAll() (pooled sequence + hibernate.jdbc.batch_size)</li>
+ *   <li>perRowSave: UserLog 를 건마다 save() (각자 트랜잭션/flush, 변경 전 기록 경로와 동일)</li>
+ * </ul>
+ * 세 경로가 같은 실행, 같은 H2 에서 측정되므로 변경 전후 수치를 한 번에 비교할 수 있다.
+ * 반복마다 테이블을 비워 이전 반복의 행 수가 다음 측정에 영향을 주지 않게 한다.
+ * 실행: ./gradlew jmh -Pjmh.includes=UserLogInsertBenchmark (build.gradle 의 warmupIterations / iterations 가 annotation 보다 우선하므로
+ * 경로마다 반복 수 x 1,000,000 건을 저장한다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UserLogInsertBenchmark {
+
+  private static final int ROWS = 1_000_000;
+  private static final int CHUNK = 1_000;
+
+  private ConfigurableApplicationContext context;
+  private UserLogRepository userLogRepository;
+  private IdentityUserLogRepository identityUserLogRepository;
+  private JdbcTemplate jdbcTemplate;
+  private User user;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(AuthApplication.class)
+      .web(WebApplicationType.NONE)
+      .properties(
+        "spring.datasource.url=jdbc:h2:mem:insert-bench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "revocation.store.enabled=false"
+      )
+      .run();
+    userLogRepository = context.getBean(UserLogRepository.class);
+    identityUserLogRepository = context.getBean(IdentityUserLogRepository.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    user = context.getBean(UserRepository.class).save(User.builder()
+      .email("bench@example.com")
+      .password("hashedPassword")
+      .username("bench")
+      .authority(Authority.ROLE_USER)
+      .active(true)
+      .createdAt(LocalDateTime.now())
+      .passwordUpdatedAt(LocalDateTime.now())
+      .build());
+  }
+
+  @TearDown(Level.Iteration)
+  public void truncate() {
+    jdbcTemplate.execute("TRUNCATE TABLE user_logs");
+    jdbcTemplate.execute("TRUNCATE TABLE user_logs_identity");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void identitySaveAll() {
+    LocalDateTime now = LocalDateTime.now();
+    for (int saved = 0; saved < ROWS; saved += CHUNK) {
+      List<IdentityUserLog> logs = new ArrayList<>(CHUNK);
+      for (int i = 0; i < CHUNK; i++) {
+        logs.add(new IdentityUserLog(user, "LOGIN_SUCCESS", now, "로그인 성공"));
+      }
+      identityUserLogRepository.saveAll(logs);
+    }
+  }
+
+  @Benchmark
+  public void batchedSaveAll() {
+    LocalDateTime now = LocalDateTime.now();
+    for (int saved = 0; saved < ROWS; saved += CHUNK) {
+      List<UserLog> logs = new ArrayList<>(CHUNK);
+      for (int i = 0; i < CHUNK; i++) {
+        logs.add(new UserLog(user, "LOGIN_SUCCESS", now, "로그인 성공"));
+      }
+      userLogRepository.saveAll(logs);
+    }
+  }
+
+  @Benchmark
+  public void perRowSave() {
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < ROWS; i++) {
+      userLogRepository.save(new UserLog(user, "LOGIN_SUCCESS", now, "로그인 성공"));
+    }
+  }
+}
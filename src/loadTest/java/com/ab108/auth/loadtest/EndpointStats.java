@@ -0,0 +1,50 @@
+package com.ab108.auth.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시나리오별 응답 시간(HDR histogram, 마이크로초)과 상태 코드 집계.
+ * Recorder 는 여러 워커 스레드가 잠금 없이 기록할 수 있고, 측정 구간이 끝나면 한 번에 histogram 으로 꺼낸다.
+ */
+final class EndpointStats {
+
+  static final int IO_ERROR = -1; // 응답을 받지 못한 경우의 상태 코드
+
+  // 1µs ~ 60s, 유효숫자 3자리
+  private final Recorder recorder = new Recorder(TimeUnit.SECONDS.toMicros(60), 3);
+  private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+  private final LongAdder errors = new LongAdder();
+
+  void record(long elapsedNanos, int status) {
+    recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), TimeUnit.SECONDS.toMicros(60)));
+    statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+    if (status == IO_ERROR || status >= 400) {
+      errors.increment();
+    }
+  }
+
+  /**
+   * 워밍업 구간 기록 폐기
+   */
+  void reset() {
+    recorder.reset();
+    statusCounts.clear();
+    errors.reset();
+  }
+
+  Snapshot snapshot() {
+    Map<Integer, Long> statuses = new TreeMap<>();
+    statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+    return new Snapshot(recorder.getIntervalHistogram(), statuses, errors.sum());
+  }
+
+  record Snapshot(Histogram histogram, Map<Integer, Long> statusCounts, long errors) {
+  }
+}
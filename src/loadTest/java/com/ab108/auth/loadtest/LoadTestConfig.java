@@ -0,0 +1,108 @@
+package com.ab108.auth.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정. 인자는 key=value 형식이며, 아래 키 외의 값은 애플리케이션 속성으로 그대로 전달한다.
+ * <ul>
+ *   <li>concurrency: 동시 사용자(워커 스레드) 수 (기본 64)</li>
+ *   <li>warmup / duration: 워밍업, 측정 시간 (초, 기본 10 / 60)</li>
+ *   <li>users: 시작 전에 가입시켜 둘 사용자 수 (기본 200)</li>
+ *   <li>mix: 시나리오 가중치, 예) signin:40,refresh:25,logout:15,admin_logs:15,signup:5</li>
+ *   <li>output: 결과 JSON 경로 (기본 build/load-test/result.json)</li>
+ * </ul>
+ */
+public final class LoadTestConfig {
+
+  private int concurrency = 64;
+  private int warmupSeconds = 10;
+  private int durationSeconds = 60;
+  private int users = 200;
+  private final Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+  private Path output = Path.of("build", "load-test", "result.json");
+  private final Map<String, Object> appProperties = new LinkedHashMap<>();
+
+  private LoadTestConfig() {
+    parseMix("signin:40,refresh:25,logout:15,admin_logs:15,signup:5");
+  }
+
+  public static LoadTestConfig parse(String[] args) {
+    LoadTestConfig config = new LoadTestConfig();
+    for (String arg : args) {
+      String trimmed = arg.startsWith("--") ? arg.substring(2) : arg;
+      int eq = trimmed.indexOf('=');
+      if (eq <= 0) {
+        throw new IllegalArgumentException("Expected key=value: " + arg);
+      }
+      String key = trimmed.substring(0, eq);
+      String value = trimmed.substring(eq + 1);
+      switch (key) {
+        case "concurrency" -> config.concurrency = positive(key, value);
+        case "warmup" -> config.warmupSeconds = Integer.parseInt(value);
+        case "duration" -> config.durationSeconds = positive(key, value);
+        case "users" -> config.users = positive(key, value);
+        case "mix" -> config.parseMix(value);
+        case "output" -> config.output = Path.of(value);
+        default -> config.appProperties.put(key, value);
+      }
+    }
+    return config;
+  }
+
+  private void parseMix(String mix) {
+    weights.clear();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid mix entry: " + entry);
+      }
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Negative weight: " + entry);
+      }
+      weights.put(Scenario.from(parts[0]), weight);
+    }
+    if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+      throw new IllegalArgumentException("mix must have at least one positive weight");
+    }
+  }
+
+  private static int positive(String key, String value) {
+    int parsed = Integer.parseInt(value);
+    if (parsed <= 0) {
+      throw new IllegalArgumentException(key + " must be positive");
+    }
+    return parsed;
+  }
+
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  public int getWarmupSeconds() {
+    return warmupSeconds;
+  }
+
+  public int getDurationSeconds() {
+    return durationSeconds;
+  }
+
+  public int getUsers() {
+    return users;
+  }
+
+  public Map<Scenario, Integer> getWeights() {
+    return weights;
+  }
+
+  public Path getOutput() {
+    return output;
+  }
+
+  public Map<String, Object> getAppProperties() {
+    return appProperties;
+  }
+}
@@ -0,0 +1,106 @@
+package com.ab108.auth.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과 직렬화.
+ * JSON 키 순서와 형식이 실행마다 같으므로 결과 파일끼리 그대로 diff 할 수 있다. 지연 시간 단위는 마이크로초.
+ */
+final class LoadTestReport {
+
+  private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+  private LoadTestReport() {
+  }
+
+  static String toJson(LoadTestConfig config, Instant startedAt, long elapsedNanos,
+                       Map<Scenario, EndpointStats.Snapshot> snapshots) {
+    double seconds = elapsedNanos / 1_000_000_000.0;
+    StringBuilder json = new StringBuilder(4096);
+    json.append("{\n");
+    json.append("  \"startedAt\": \"").append(startedAt).append("\",\n");
+    json.append("  \"config\": {\"concurrency\": ").append(config.getConcurrency())
+      .append(", \"warmupSeconds\": ").append(config.getWarmupSeconds())
+      .append(", \"durationSeconds\": ").append(config.getDurationSeconds())
+      .append(", \"users\": ").append(config.getUsers())
+      .append(", \"mix\": {");
+    boolean first = true;
+    for (Map.Entry<Scenario, Integer> weight : config.getWeights().entrySet()) {
+      json.append(first ? "" : ", ").append('"').append(weight.getKey().key()).append("\": ").append(weight.getValue());
+      first = false;
+    }
+    json.append("}},\n");
+    json.append("  \"elapsedSeconds\": ").append(format(seconds)).append(",\n");
+
+    Histogram total = new Histogram(3);
+    long totalErrors = 0;
+    json.append("  \"endpoints\": {\n");
+    first = true;
+    for (Map.Entry<Scenario, EndpointStats.Snapshot> entry : snapshots.entrySet()) {
+      EndpointStats.Snapshot snapshot = entry.getValue();
+      total.add(snapshot.histogram());
+      totalErrors += snapshot.errors();
+
+      json.append(first ? "" : ",\n").append("    \"").append(entry.getKey().key()).append("\": ");
+      appendEndpoint(json, snapshot.histogram(), snapshot.errors(), seconds);
+      json.append(", \"statusCodes\": {");
+      boolean firstStatus = true;
+      for (Map.Entry<Integer, Long> status : snapshot.statusCounts().entrySet()) {
+        String code = status.getKey() == EndpointStats.IO_ERROR ? "io_error" : String.valueOf(status.getKey());
+        json.append(firstStatus ? "" : ", ").append('"').append(code).append("\": ").append(status.getValue());
+        firstStatus = false;
+      }
+      json.append("}}");
+      first = false;
+    }
+    json.append("\n  },\n");
+
+    json.append("  \"total\": ");
+    appendEndpoint(json, total, totalErrors, seconds);
+    json.append("}\n}\n");
+    return json.toString();
+  }
+
+  static String toSummary(long elapsedNanos, Map<Scenario, EndpointStats.Snapshot> snapshots) {
+    double seconds = elapsedNanos / 1_000_000_000.0;
+    StringBuilder summary = new StringBuilder();
+    summary.append(String.format("%-12s %10s %10s %8s %10s %10s %10s%n",
+      "endpoint", "requests", "req/s", "errors", "p50(ms)", "p99(ms)", "max(ms)"));
+    for (Map.Entry<Scenario, EndpointStats.Snapshot> entry : snapshots.entrySet()) {
+      Histogram histogram = entry.getValue().histogram();
+      summary.append(String.format("%-12s %10d %10.1f %8d %10.2f %10.2f %10.2f%n",
+        entry.getKey().key(),
+        histogram.getTotalCount(),
+        histogram.getTotalCount() / seconds,
+        entry.getValue().errors(),
+        histogram.getValueAtPercentile(50.0) / 1000.0,
+        histogram.getValueAtPercentile(99.0) / 1000.0,
+        histogram.getMaxValue() / 1000.0));
+    }
+    return summary.toString();
+  }
+
+  // 닫는 괄호는 호출하는 쪽에서 추가 (엔드포인트별 상태 코드를 이어 붙이기 위함)
+  private static void appendEndpoint(StringBuilder json, Histogram histogram, long errors, double seconds) {
+    long requests = histogram.getTotalCount();
+    json.append("{\"requests\": ").append(requests)
+      .append(", \"errors\": ").append(errors)
+      .append(", \"errorRate\": ").append(format(requests == 0 ? 0.0 : (double) errors / requests))
+      .append(", \"throughput\": ").append(format(requests / seconds))
+      .append(", \"latencyMicros\": {\"min\": ").append(requests == 0 ? 0 : histogram.getMinValue())
+      .append(", \"mean\": ").append(format(requests == 0 ? 0.0 : histogram.getMean()));
+    for (double percentile : PERCENTILES) {
+      json.append(", \"p").append(String.valueOf(percentile).replace(".0", "").replace(".", ""))
+        .append("\": ").append(histogram.getValueAtPercentile(percentile));
+    }
+    json.append(", \"max\": ").append(histogram.getMaxValue()).append('}');
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+}
@@ -0,0 +1,246 @@
+package com.ab108.auth.loadtest;
+
+import com.ab108.auth.AuthApplication;
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.entity.User;
+import com.ab108.auth.repository.UserRepository;
+import com.ab108.auth.utils.JwtUtil;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 내장 H2 위에서 애플리케이션을 띄우고 signup / signin / refresh / logout / 관리자 로그 조회를 섞어 호출하는 부하 테스트.
+ * 워커마다 로그인 세션(access token, refresh token)을 들고 가중치에 따라 다음 시나리오를 고르며,
+ * 세션이 필요한 시나리오인데 세션이 없으면 signin 을 대신 수행한다.
+ * 워커는 응답을 받은 뒤 바로 다음 요청을 보내는 closed-loop 방식이므로, 서버가 느려지면 요청률도 함께 낮아진다.
+ *
+ * <pre>./gradlew loadTest -PloadTest.args="concurrency=128 duration=120 mix=signin:50,refresh:30,logout:20"</pre>
+ */
+public final class LoadTestRunner {
+
+  private static final String PASSWORD = "password123";
+  private static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+
+  private final LoadTestConfig config;
+  private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+  private final Scenario[] wheel; // 가중치만큼 반복한 시나리오 (균등 난수로 선택)
+  private final AtomicInteger signupSequence = new AtomicInteger();
+
+  private HttpClient client;
+  private String baseUrl;
+  private String adminToken;
+  private long[] userIds;
+  private volatile boolean measuring;
+  private volatile boolean running = true;
+
+  private LoadTestRunner(LoadTestConfig config) {
+    this.config = config;
+    List<Scenario> slots = new ArrayList<>();
+    config.getWeights().forEach((scenario, weight) -> {
+      for (int i = 0; i < weight; i++) {
+        slots.add(scenario);
+      }
+    });
+    this.wheel = slots.toArray(new Scenario[0]);
+    for (Scenario scenario : Scenario.values()) {
+      stats.put(scenario, new EndpointStats());
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.parse(args);
+    new LoadTestRunner(config).run();
+  }
+
+  private void run() throws Exception {
+    try (ConfigurableApplicationContext context = start()) {
+      baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+      client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+      seedUsers(context);
+      adminToken = context.getBean(JwtUtil.class).createAccessToken(0L, ADMIN_EMAIL, Authority.ROLE_ADMIN);
+
+      ExecutorService workers = Executors.newFixedThreadPool(config.getConcurrency());
+      for (int i = 0; i < config.getConcurrency(); i++) {
+        workers.submit(this::workerLoop);
+      }
+
+      System.out.printf("Warming up for %ds with %d workers%n", config.getWarmupSeconds(), config.getConcurrency());
+      Thread.sleep(TimeUnit.SECONDS.toMillis(config.getWarmupSeconds()));
+      stats.values().forEach(EndpointStats::reset);
+      measuring = true;
+      Instant startedAt = Instant.now();
+      long start = System.nanoTime();
+
+      System.out.printf("Measuring for %ds%n", config.getDurationSeconds());
+      Thread.sleep(TimeUnit.SECONDS.toMillis(config.getDurationSeconds()));
+      measuring = false;
+      long elapsedNanos = System.nanoTime() - start;
+      running = false;
+
+      workers.shutdown();
+      if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+        workers.shutdownNow();
+      }
+
+      Map<Scenario, EndpointStats.Snapshot> snapshots = new EnumMap<>(Scenario.class);
+      stats.forEach((scenario, endpointStats) -> snapshots.put(scenario, endpointStats.snapshot()));
+      String json = LoadTestReport.toJson(config, startedAt, elapsedNanos, snapshots);
+
+      Files.createDirectories(config.getOutput().toAbsolutePath().getParent());
+      Files.writeString(config.getOutput(), json);
+      System.out.println(LoadTestReport.toSummary(elapsedNanos, snapshots));
+      System.out.println("Results written to " + config.getOutput().toAbsolutePath());
+    }
+  }
+
+  private ConfigurableApplicationContext start() {
+    return new SpringApplicationBuilder(AuthApplication.class)
+      .properties(
+        "server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "revocation.store.enabled=false",
+        "password-hashing.bcrypt.strength=10",
+        "password-hashing.queue-capacity=1024",
+        // 모든 요청이 같은 IP 에서 오므로 시도 제한은 사실상 끔
+        "login-limit.email.capacity=1000000000",
+        "login-limit.email.refill-per-minute=1000000000",
+        "login-limit.ip.capacity=1000000000",
+        "login-limit.ip.refill-per-minute=1000000000"
+      )
+      .properties(config.getAppProperties()) // 명령행에서 덮어쓰기
+      .run();
+  }
+
+  private void seedUsers(ConfigurableApplicationContext context) throws Exception {
+    System.out.printf("Seeding %d users%n", config.getUsers());
+    ExecutorService seeders = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    List<Future<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < config.getUsers(); i++) {
+      String email = seedEmail(i);
+      results.add(seeders.submit(() -> send(post("/users/signup", signupBody(email), null)).statusCode()));
+    }
+    for (Future<Integer> result : results) {
+      if (result.get() != 200) {
+        throw new IllegalStateException("Seeding signup failed with status " + result.get());
+      }
+    }
+    seeders.shutdown();
+
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    userIds = new long[config.getUsers()];
+    for (int i = 0; i < userIds.length; i++) {
+      User user = userRepository.findUserByEmail(seedEmail(i));
+      userIds[i] = user.getId();
+    }
+  }
+
+  private void workerLoop() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Session session = null;
+    while (running) {
+      Scenario scenario = wheel[random.nextInt(wheel.length)];
+      if (scenario.requiresSession() && session == null) {
+        scenario = Scenario.SIGNIN;
+      }
+
+      HttpRequest request = switch (scenario) {
+        case SIGNUP -> post("/users/signup", signupBody("load" + signupSequence.getAndIncrement() + "@example.com"), null);
+        case SIGNIN -> post("/users/signin", "{\"email\":\"" + seedEmail(random.nextInt(userIds.length))
+          + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        case REFRESH -> post("/users/refresh", "{\"refreshToken\":\"" + session.refreshToken() + "\"}", null);
+        case LOGOUT -> post("/users/logout", "{\"refreshToken\":\"" + session.refreshToken() + "\"}",
+          session.accessToken());
+        case ADMIN_LOGS -> HttpRequest.newBuilder(URI.create(baseUrl + "/admin/users/"
+            + userIds[random.nextInt(userIds.length)] + "/logs?size=20"))
+          .header("Authorization", "Bearer " + adminToken)
+          .GET()
+          .build();
+      };
+
+      long start = System.nanoTime();
+      int status;
+      String body;
+      try {
+        HttpResponse<String> response = send(request);
+        status = response.statusCode();
+        body = response.body();
+      } catch (IOException | InterruptedException e) {
+        if (!running) {
+          return;
+        }
+        status = EndpointStats.IO_ERROR;
+        body = null;
+      }
+      long elapsed = System.nanoTime() - start;
+      if (measuring) {
+        stats.get(scenario).record(elapsed, status);
+      }
+
+      // 세션 상태 갱신
+      if (scenario == Scenario.SIGNIN || scenario == Scenario.REFRESH) {
+        session = (status == 200) ? Session.of(body) : null;
+      } else if (scenario == Scenario.LOGOUT) {
+        session = null;
+      }
+    }
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpRequest post(String path, String body, String token) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+      .timeout(Duration.ofSeconds(30))
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(body));
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder.build();
+  }
+
+  private static String signupBody(String email) {
+    return "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\",\"username\":\"" + email + "\"}";
+  }
+
+  private static String seedEmail(int index) {
+    return "seed" + index + "@example.com";
+  }
+
+  /**
+   * 워커의 로그인 세션
+   */
+  private record Session(String accessToken, String refreshToken) {
+
+    static Session of(String loginResponse) {
+      return new Session(field(loginResponse, "token"), field(loginResponse, "refreshToken"));
+    }
+
+    private static String field(String json, String name) {
+      String key = "\"" + name + "\":\"";
+      int start = json.indexOf(key) + key.length();
+      return json.substring(start, json.indexOf('"', start));
+    }
+  }
+}
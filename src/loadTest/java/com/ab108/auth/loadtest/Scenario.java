@@ -0,0 +1,31 @@
+package com.ab108.auth.loadtest;
+
+import java.util.Locale;
+
+/**
+ * 부하 시나리오 (요청 한 번 = 시나리오 한 번)
+ */
+public enum Scenario {
+  SIGNUP,     // 새 사용자 가입 (BCrypt 해싱)
+  SIGNIN,     // 시드 사용자 로그인 (BCrypt 비교, 토큰 발급)
+  REFRESH,    // refresh token 으로 재발급 (로그인된 세션 필요)
+  LOGOUT,     // access token 으로 로그아웃 (로그인된 세션 필요)
+  ADMIN_LOGS; // 관리자 토큰으로 감사 로그 조회
+
+  public String key() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  public boolean requiresSession() {
+    return this == REFRESH || this == LOGOUT;
+  }
+
+  public static Scenario from(String key) {
+    for (Scenario scenario : values()) {
+      if (scenario.key().equals(key.trim().toLowerCase(Locale.ROOT))) {
+        return scenario;
+      }
+    }
+    throw new IllegalArgumentException("Unknown scenario: " + key);
+  }
+}
@@ -0,0 +1,471 @@
+package com.ab108.auth.audit;
+
+import com.ab108.auth.entity.User;
+import com.ab108.auth.entity.UserLog;
+import com.ab108.auth.repository.UserLogDailyCountRepository;
+import com.ab108.auth.repository.UserLogRepository;
+import com.ab108.auth.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자 로그(UserLog)를 요청 스레드 밖에서 묶음 단위로 기록하는 writer.
+ * 요청 스레드는 lock-free 큐에 넣기만 하고, 전용 스레드가 큐를 비우며 한 트랜잭션에서 saveAll 로 저장한다.
+ * (UserLog 는 pooled sequence id 를 사용하므로 hibernate.jdbc.batch_size 단위 JDBC batch insert 로 나간다)
+ * 로그가 커밋된 뒤 별도 트랜잭션에서 사용자별 일일 집계(UserLogDailyCount)를 upsert 하므로, 집계 실패가 로그 유실로 이어지지 않는다.
+ * 저장에 실패한 묶음은 spill 파일에 기록해 두었다가 큐가 빌 때 다시 저장하며(실패가 이어지면 100ms 부터 5초까지 간격을 늘림),
+ * spill 파일은 모든 묶음이 커밋된 뒤에만 지운다. writer 가 멈춘 뒤(종료 중 등)에 들어온 로그도 spill 파일에 기록한다.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final int ROLLUP_ATTEMPTS = 2;
+  private static final long MIN_RETRY_MILLIS = 100;
+  private static final long MAX_RETRY_MILLIS = 5000;
+
+  private final UserLogRepository userLogRepository;
+  private final UserLogDailyCountRepository dailyCountRepository;
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final BoundedMpmcQueue<AuditRecord> queue;
+  private final int batchSize;
+  private final BackpressurePolicy policy;
+  private final Path spillPath;
+
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder spilled = new LongAdder();
+  private final LongAdder written = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder rollupFailed = new LongAdder();
+  private final LongAdder flushCount = new LongAdder();
+  private final LongAdder flushNanos = new LongAdder();
+  private final LongAccumulator maxFlushNanos = new LongAccumulator(Math::max, 0L);
+
+  // spill 파일 출력 (spillLock 으로 동기화)
+  // 요청 스레드가 파일 I/O 중에 잡는 잠금이므로 synchronized 대신 ReentrantLock 사용 (virtual thread 가 carrier 를 점유하지 않도록)
+  private final ReentrantLock spillLock = new ReentrantLock();
+  private DataOutputStream spillOut;
+  private volatile boolean spillPending;
+
+  // spill 재처리 실패 후 다음 시도 시각 (writer 스레드만 사용)
+  private long retryDelayMillis;
+  private long nextSpillRetryNanos;
+
+  private volatile boolean running;
+  private volatile boolean stopped; // stop() 이후 (큐에 넣어도 저장되지 않음)
+  private Thread writer;
+
+  public AuditLogWriter(
+    UserLogRepository userLogRepository,
+    UserLogDailyCountRepository dailyCountRepository,
+    UserRepository userRepository,
+    PlatformTransactionManager transactionManager,
+    @Value("${audit.queue-capacity:65536}") int queueCapacity,
+    @Value("${audit.batch-size:500}") int batchSize,
+    @Value("${audit.backpressure:BLOCK}") BackpressurePolicy policy,
+    @Value("${audit.spill-path:./data/audit-spill.bin}") String spillPath
+  ) {
+    this.userLogRepository = userLogRepository;
+    this.dailyCountRepository = dailyCountRepository;
+    this.userRepository = userRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.queue = new BoundedMpmcQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.policy = policy;
+    this.spillPath = Paths.get(spillPath);
+  }
+
+  @PostConstruct
+  public void start() {
+    spillPending = Files.exists(spillPath) || Files.exists(processingPath()); // 이전 실행에서 남은 spill
+    nextSpillRetryNanos = System.nanoTime();
+    running = true;
+    writer = new Thread(this::writeLoop, "audit-log-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    stopped = true;
+    running = false;
+    if (writer != null) {
+      LockSupport.unpark(writer);
+      writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+    flushSpill();
+  }
+
+  /**
+   * 로그 한 건 추가 (DB 기록은 비동기)
+   * @param record 로그
+   */
+  public void append(AuditRecord record) {
+    if (stopped) {
+      spill(record); // writer 가 멈췄으면 큐에 넣어도 기록되지 않으므로 바로 파일에 남김 (다음 시작 시 저장)
+      flushSpill();
+      return;
+    }
+    if (queue.offer(record)) {
+      return;
+    }
+
+    switch (policy) {
+      case DROP_OLDEST -> {
+        while (!queue.offer(record)) {
+          if (queue.poll() != null) {
+            dropped.increment();
+          }
+        }
+      }
+      case SPILL -> spill(record);
+      default -> {
+        while (!queue.offer(record)) {
+          if (stopped || (writer != null && !writer.isAlive())) {
+            spill(record); // 비워 줄 writer 가 없으면 무한히 기다리지 않음
+            flushSpill();
+            return;
+          }
+          LockSupport.unpark(writer);
+          LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+      }
+    }
+  }
+
+  private void writeLoop() {
+    List<AuditRecord> batch = new ArrayList<>(batchSize);
+    while (running || queue.size() > 0) {
+      AuditRecord record;
+      while (batch.size() < batchSize && (record = queue.poll()) != null) {
+        batch.add(record);
+      }
+
+      if (!batch.isEmpty()) {
+        if (!flush(batch)) {
+          batch.forEach(this::spill); // 다시 시도할 수 있도록 파일에 남김
+          flushSpill();
+        }
+        batch.clear();
+      } else if (!drainSpill(false)) {
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+      }
+    }
+    drainSpill(true);
+  }
+
+  /**
+   * 한 묶음 저장
+   * @return 로그가 커밋되었으면 true (집계 실패는 포함하지 않음)
+   */
+  private boolean flush(List<AuditRecord> batch) {
+    long start = System.nanoTime();
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        List<UserLog> logs = new ArrayList<>(batch.size());
+        for (AuditRecord record : batch) {
+          // 사용자는 id 참조(프록시)로만 연결하여 조회 쿼리가 나가지 않도록 함
+          User user = record.getUserId() != null ? userRepository.getReferenceById(record.getUserId()) : null;
+          logs.add(new UserLog(user, record.getLogType(), record.getTimestamp(), record.getMessage()));
+        }
+        userLogRepository.saveAll(logs);
+      });
+      written.add(batch.size());
+      updateDailyCounts(batch);
+      return true;
+    } catch (RuntimeException e) {
+      failed.add(batch.size());
+      log.error("Failed to write {} audit records, keeping them in the spill file for retry", batch.size(), e);
+      return false;
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      flushCount.increment();
+      flushNanos.add(elapsed);
+      maxFlushNanos.accumulate(elapsed);
+    }
+  }
+
+  // 배치를 (사용자, 날짜, 로그 타입) 별로 합산해 일일 집계에 upsert (로그 저장과 분리된 트랜잭션)
+  // 다른 인스턴스나 spill 재처리와 같은 행을 동시에 처음 만들면 유니크 제약에 걸리므로 한 번 더 시도한다 (다시 시도하면 기존 행을 갱신)
+  // 실패해도 이미 커밋된 UserLog 는 그대로이며 집계 실패 건수만 남긴다
+  private void updateDailyCounts(List<AuditRecord> batch) {
+    Map<DailyKey, Long> counts = new HashMap<>();
+    for (AuditRecord record : batch) {
+      if (record.getUserId() == null) {
+        continue; // 존재하지 않는 사용자의 로그는 사용자별 집계 대상이 아님
+      }
+      DailyKey key = new DailyKey(record.getUserId(), UserLog.logDateOf(record.getTimestamp()), record.getLogType());
+      counts.merge(key, 1L, Long::sum);
+    }
+    if (counts.isEmpty()) {
+      return;
+    }
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> counts.forEach((key, delta) ->
+          dailyCountRepository.upsert(key.userId(), key.logDate(), key.logType(), delta)));
+        return;
+      } catch (DataIntegrityViolationException e) {
+        if (attempt < ROLLUP_ATTEMPTS) {
+          continue;
+        }
+        rollupFailed.add(counts.size());
+        log.warn("Failed to update {} daily audit counts after {} attempts: {}", counts.size(), attempt, e.getMessage());
+        return;
+      } catch (RuntimeException e) {
+        rollupFailed.add(counts.size());
+        log.warn("Failed to update {} daily audit counts: {}", counts.size(), e.getMessage());
+        return;
+      }
+    }
+  }
+
+  private record DailyKey(Long userId, LocalDate logDate, String logType) {
+  }
+
+  private void spill(AuditRecord record) {
+    spillLock.lock();
+    try {
+      try {
+        if (spillOut == null) {
+          Path parent = spillPath.toAbsolutePath().getParent();
+          if (parent != null) {
+            Files.createDirectories(parent);
+          }
+          spillOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillPath.toFile(), true)));
+        }
+        writeRecord(spillOut, record);
+        spilled.increment();
+        spillPending = true;
+      } catch (IOException e) {
+        dropped.increment();
+        log.error("Failed to spill audit record", e);
+      }
+    } finally {
+      spillLock.unlock();
+    }
+  }
+
+  // 버퍼에 남은 spill 레코드를 파일에 씀
+  private void flushSpill() {
+    spillLock.lock();
+    try {
+      if (spillOut != null) {
+        spillOut.flush();
+      }
+    } catch (IOException e) {
+      log.error("Failed to flush audit spill file", e);
+    } finally {
+      spillLock.unlock();
+    }
+  }
+
+  /**
+   * 큐가 비었을 때 spill 파일을 다시 읽어 저장
+   * 저장에 실패하면 그 묶음과 아직 읽지 않은 레코드만 처리 중 파일에 다시 써서(커밋된 묶음은 제외) 다음 시도로 넘긴다.
+   * @param force 재시도 대기 시간을 무시 (종료 직전)
+   * @return 모든 레코드를 저장했으면 true
+   */
+  private boolean drainSpill(boolean force) {
+    if (!spillPending) {
+      return false;
+    }
+    if (!force && System.nanoTime() - nextSpillRetryNanos < 0) {
+      return false;
+    }
+    Path processing = processingPath();
+    spillLock.lock();
+    try {
+      try {
+        if (spillOut != null) {
+          spillOut.close();
+          spillOut = null;
+        }
+        spillPending = false;
+        if (!Files.exists(processing)) {
+          if (!Files.exists(spillPath)) {
+            return false;
+          }
+          Files.move(spillPath, processing, StandardCopyOption.ATOMIC_MOVE);
+        }
+      } catch (IOException e) {
+        log.error("Failed to rotate audit spill file", e);
+        scheduleSpillRetry();
+        return false;
+      }
+    } finally {
+      spillLock.unlock();
+    }
+
+    Path remaining = processing.resolveSibling(processing.getFileName() + ".tmp");
+    DataOutputStream retryOut = null; // 실패 이후의 레코드를 모으는 파일
+    List<AuditRecord> batch = new ArrayList<>(batchSize);
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(processing)))) {
+      AuditRecord record;
+      while ((record = readRecord(in)) != null) {
+        if (retryOut != null) {
+          writeRecord(retryOut, record);
+          continue;
+        }
+        batch.add(record);
+        if (batch.size() == batchSize) {
+          retryOut = flushOrKeep(batch, remaining);
+          batch.clear();
+        }
+      }
+      if (retryOut == null && !batch.isEmpty()) {
+        retryOut = flushOrKeep(batch, remaining);
+      }
+    } catch (IOException e) {
+      log.error("Failed to replay audit spill file", e);
+      closeQuietly(retryOut);
+      scheduleSpillRetry();
+      return false;
+    }
+
+    try {
+      if (retryOut != null) {
+        retryOut.close();
+        Files.move(remaining, processing, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        scheduleSpillRetry();
+        return false;
+      }
+      Files.delete(processing); // 모든 묶음이 커밋된 뒤에만 삭제
+    } catch (IOException e) {
+      log.error("Failed to update audit spill file", e);
+      scheduleSpillRetry();
+      return false;
+    }
+    retryDelayMillis = 0;
+    return true;
+  }
+
+  // 묶음을 저장하고, 실패하면 남은 레코드를 모을 파일을 열어 실패한 묶음부터 기록
+  private DataOutputStream flushOrKeep(List<AuditRecord> batch, Path remaining) throws IOException {
+    if (flush(batch)) {
+      return null;
+    }
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(remaining)));
+    for (AuditRecord record : batch) {
+      writeRecord(out, record);
+    }
+    return out;
+  }
+
+  private void scheduleSpillRetry() {
+    spillPending = true; // 처리 중 파일이 남아 있음
+    retryDelayMillis = (retryDelayMillis == 0) ? MIN_RETRY_MILLIS : Math.min(MAX_RETRY_MILLIS, retryDelayMillis * 2);
+    nextSpillRetryNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMillis);
+  }
+
+  private static void writeRecord(DataOutputStream out, AuditRecord record) throws IOException {
+    out.writeLong(record.getUserId() != null ? record.getUserId() : -1L);
+    out.writeUTF(record.getLogType());
+    out.writeUTF(record.getTimestamp().toString());
+    out.writeBoolean(record.getMessage() != null);
+    if (record.getMessage() != null) {
+      out.writeUTF(record.getMessage());
+    }
+  }
+
+  // 파일 끝이면 null (기록 도중 종료되어 잘린 마지막 레코드도 끝으로 봄)
+  private static AuditRecord readRecord(DataInputStream in) throws IOException {
+    long userId;
+    try {
+      userId = in.readLong();
+    } catch (EOFException e) {
+      return null;
+    }
+    try {
+      String logType = in.readUTF();
+      LocalDateTime timestamp = LocalDateTime.parse(in.readUTF());
+      String message = in.readBoolean() ? in.readUTF() : null;
+      return new AuditRecord(userId >= 0 ? userId : null, logType, timestamp, message);
+    } catch (EOFException e) {
+      log.warn("Ignoring truncated record at the end of the audit spill file");
+      return null;
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      // 이미 실패를 기록한 경로
+    }
+  }
+
+  private Path processingPath() {
+    return spillPath.resolveSibling(spillPath.getFileName() + ".processing");
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  public long getSpilledCount() {
+    return spilled.sum();
+  }
+
+  public long getWrittenCount() {
+    return written.sum();
+  }
+
+  public long getFailedCount() {
+    return failed.sum();
+  }
+
+  public long getRollupFailedCount() {
+    return rollupFailed.sum();
+  }
+
+  public long getFlushCount() {
+    return flushCount.sum();
+  }
+
+  public long getTotalFlushNanos() {
+    return flushNanos.sum();
+  }
+
+  public double getAverageFlushMillis() {
+    long count = flushCount.sum();
+    return count == 0 ? 0.0 : flushNanos.sum() / 1_000_000.0 / count;
+  }
+
+  public double getMaxFlushMillis() {
+    return maxFlushNanos.get() / 1_000_000.0;
+  }
+}
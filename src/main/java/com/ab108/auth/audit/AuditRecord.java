@@ -0,0 +1,24 @@
+package com.ab108.auth.audit;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기로 기록할 사용자 로그 한 건 (UserLog 엔티티 대신 id 만 보관)
+ */
+@Getter
+public class AuditRecord {
+
+  private final Long userId; // 존재하지 않는 이메일로 로그인 시도한 경우 null
+  private final String logType;
+  private final LocalDateTime timestamp;
+  private final String message;
+
+  public AuditRecord(Long userId, String logType, LocalDateTime timestamp, String message) {
+    this.userId = userId;
+    this.logType = logType;
+    this.timestamp = timestamp;
+    this.message = message;
+  }
+}
@@ -0,0 +1,72 @@
+package com.ab108.auth.audit;
+
+import com.ab108.auth.repository.UserLogDailyCountRepository;
+import com.ab108.auth.repository.UserLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * 보존 기간이 지난 감사 로그를 로그 날짜(log_date) 단위로 삭제하는 작업.
+ * 오래된 날짜부터 하루씩 별도 트랜잭션으로 지워 긴 트랜잭션과 전체 테이블 조건 스캔을 피한다.
+ * 테이블이 파티셔닝되어 있지 않으므로 하루치 삭제는 행 단위 DELETE 이다 (UserLogRepository.deleteByLogDate 참고).
+ */
+@Slf4j
+@Component
+public class AuditRetentionJob {
+
+  private final UserLogRepository userLogRepository;
+  private final UserLogDailyCountRepository dailyCountRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int retentionDays;      // 원본 로그 보존 일수 (0 이하면 정리하지 않음)
+  private final int rollupRetentionDays; // 일일 집계 보존 일수 (0 이하면 정리하지 않음)
+
+  public AuditRetentionJob(
+    UserLogRepository userLogRepository,
+    UserLogDailyCountRepository dailyCountRepository,
+    PlatformTransactionManager transactionManager,
+    @Value("${audit.retention.days:90}") int retentionDays,
+    @Value("${audit.retention.rollup-days:730}") int rollupRetentionDays
+  ) {
+    this.userLogRepository = userLogRepository;
+    this.dailyCountRepository = dailyCountRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.retentionDays = retentionDays;
+    this.rollupRetentionDays = rollupRetentionDays;
+  }
+
+  @Scheduled(cron = "${audit.retention.cron:0 30 3 * * *}")
+  public void purgeExpired() {
+    purgeExpired(LocalDate.now());
+  }
+
+  /**
+   * 기준일로부터 보존 기간이 지난 로그와 집계 삭제
+   * @param today 기준일
+   * @return 삭제한 날짜(일) 수
+   */
+  public int purgeExpired(LocalDate today) {
+    int purged = 0;
+    if (retentionDays > 0) {
+      LocalDate cutoff = today.minusDays(retentionDays);
+      LocalDate oldest = userLogRepository.findOldestLogDate();
+      for (LocalDate day = oldest; day != null && day.isBefore(cutoff); day = day.plusDays(1)) {
+        LocalDate logDate = day;
+        Integer rows = transactionTemplate.execute(status -> userLogRepository.deleteByLogDate(logDate));
+        purged++;
+        log.info("Deleted audit logs for {} ({} rows)", logDate, rows);
+      }
+    }
+
+    if (rollupRetentionDays > 0) {
+      LocalDate cutoff = today.minusDays(rollupRetentionDays);
+      transactionTemplate.executeWithoutResult(status -> dailyCountRepository.deleteOlderThan(cutoff));
+    }
+    return purged;
+  }
+}
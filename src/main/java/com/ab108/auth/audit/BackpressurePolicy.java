@@ -0,0 +1,10 @@
+package com.ab108.auth.audit;
+
+/**
+ * 감사 로그 큐가 가득 찼을 때의 처리 방식
+ */
+public enum BackpressurePolicy {
+  BLOCK,       // 자리가 날 때까지 호출 스레드 대기
+  DROP_OLDEST, // 가장 오래된 항목을 버리고 추가
+  SPILL        // 디스크 파일에 기록해 두었다가 큐가 비면 다시 적재
+}
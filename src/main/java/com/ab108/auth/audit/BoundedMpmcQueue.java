@@ -0,0 +1,89 @@
+package com.ab108.auth.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 lock-free 큐 (Dmitry Vyukov 의 bounded MPMC 큐).
+ * 각 슬롯의 sequence 값으로 생산자/소비자가 CAS 한 번에 자리를 확보하므로 잠금이 없다.
+ */
+public class BoundedMpmcQueue<E> {
+
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private final AtomicLong dequeuePosition = new AtomicLong();
+
+  public BoundedMpmcQueue(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+    }
+    this.mask = capacity - 1;
+    this.sequences = new AtomicLongArray(capacity);
+    this.elements = new AtomicReferenceArray<>(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * @return 큐가 가득 차 있으면 false
+   */
+  public boolean offer(E element) {
+    long position = enqueuePosition.get();
+    while (true) {
+      int index = (int) position & mask;
+      long diff = sequences.get(index) - position;
+      if (diff == 0) {
+        if (enqueuePosition.compareAndSet(position, position + 1)) {
+          elements.lazySet(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = enqueuePosition.get();
+      } else if (diff < 0) {
+        return false;
+      } else {
+        position = enqueuePosition.get();
+      }
+    }
+  }
+
+  /**
+   * @return 큐가 비어 있으면 null
+   */
+  public E poll() {
+    long position = dequeuePosition.get();
+    while (true) {
+      int index = (int) position & mask;
+      long diff = sequences.get(index) - (position + 1);
+      if (diff == 0) {
+        if (dequeuePosition.compareAndSet(position, position + 1)) {
+          E element = elements.get(index);
+          elements.lazySet(index, null);
+          sequences.set(index, position + mask + 1);
+          return element;
+        }
+        position = dequeuePosition.get();
+      } else if (diff < 0) {
+        return null;
+      } else {
+        position = dequeuePosition.get();
+      }
+    }
+  }
+
+  /**
+   * 대략적인 현재 크기 (지표용)
+   */
+  public int size() {
+    long size = enqueuePosition.get() - dequeuePosition.get();
+    return (int) Math.max(0, Math.min(size, mask + 1));
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+}
@@ -0,0 +1,38 @@
+package com.ab108.auth.cache;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.entity.User;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인증 처리에 필요한 사용자 정보만 담은 불변 스냅샷 (비밀번호 해시는 포함하지 않음)
+ */
+@Getter
+public class UserPrincipal {
+
+  private final Long id;
+  private final String email;
+  private final Authority authority;
+  private final boolean active;
+  private final LocalDateTime passwordUpdatedAt;
+
+  public UserPrincipal(Long id, String email, Authority authority, boolean active, LocalDateTime passwordUpdatedAt) {
+    this.id = id;
+    this.email = email;
+    this.authority = authority;
+    this.active = active;
+    this.passwordUpdatedAt = passwordUpdatedAt;
+  }
+
+  public static UserPrincipal from(User user) {
+    return new UserPrincipal(
+      user.getId(),
+      user.getEmail(),
+      user.getAuthority(),
+      user.isActive(),
+      user.getPasswordUpdatedAt()
+    );
+  }
+}
@@ -0,0 +1,166 @@
+package com.ab108.auth.cache;
+
+import com.ab108.auth.entity.User;
+import com.ab108.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * email -> UserPrincipal 캐시.
+ * 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거하고(LRU), TTL 이 지난 항목은 조회 시 다시 적재한다.
+ * 이메일 해시로 나눈 stripe 마다 잠금과 LRU 를 따로 두므로, 조회끼리는 같은 stripe 일 때만 경합한다 (LRU 는 stripe 단위 근사).
+ */
+@Component
+public class UserPrincipalCache {
+
+  private static final int STRIPES = 64;
+
+  private final UserRepository userRepository;
+  private final long ttlMillis;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  public UserPrincipalCache(
+    UserRepository userRepository,
+    @Value("${user-cache.max-size:10000}") int maxSize,
+    @Value("${user-cache.ttl:60000}") long ttlMillis
+  ) {
+    this.userRepository = userRepository;
+    this.ttlMillis = ttlMillis;
+    int maxPerStripe = Math.max(1, maxSize / STRIPES);
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe(maxPerStripe);
+    }
+  }
+
+  /**
+   * 이메일로 사용자 정보 조회 (캐시에 없거나 만료되었으면 DB 에서 적재)
+   * @param email 이메일
+   * @return UserPrincipal, 사용자가 없으면 null
+   */
+  public UserPrincipal get(String email) {
+    long now = System.currentTimeMillis();
+    Stripe stripe = stripeFor(email);
+    long generation;
+    synchronized (stripe) {
+      Entry entry = stripe.entries.get(email);
+      if (entry != null) {
+        if (entry.expiresAt > now) {
+          hits.increment();
+          return entry.principal;
+        }
+        stripe.entries.remove(email);
+        evictions.increment();
+      }
+      generation = stripe.generation;
+    }
+
+    // DB 조회는 잠금 밖에서 수행
+    misses.increment();
+    User user = userRepository.findUserByEmail(email);
+    if (user == null) {
+      return null;
+    }
+
+    UserPrincipal principal = UserPrincipal.from(user);
+    synchronized (stripe) {
+      // 조회 중에 무효화가 있었으면 읽은 값이 이미 오래된 것일 수 있으므로 캐시에 넣지 않는다
+      if (stripe.generation == generation) {
+        stripe.entries.put(email, new Entry(principal, now + ttlMillis));
+      }
+    }
+    return principal;
+  }
+
+  /**
+   * 이메일 기준 캐시 무효화
+   * @param email 이메일
+   */
+  public void invalidate(String email) {
+    Stripe stripe = stripeFor(email);
+    synchronized (stripe) {
+      stripe.entries.remove(email);
+      stripe.generation++;
+    }
+  }
+
+  /**
+   * 사용자 id 기준 캐시 무효화 (관리자 작업용, 전체 순회)
+   * 진행 중인 조회의 이메일을 알 수 없으므로 모든 stripe 의 generation 을 올린다.
+   * @param userId 사용자 id
+   */
+  public void invalidateUser(Long userId) {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.entries.values().removeIf(entry -> userId.equals(entry.principal.getId()));
+        stripe.generation++;
+      }
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.entries.size();
+      }
+    }
+    return size;
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  private Stripe stripeFor(String email) {
+    int h = email.hashCode();
+    return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+  }
+
+  private final class Stripe {
+
+    // accessOrder = true 인 LinkedHashMap 으로 LRU 순서 유지 (접근은 stripe 로 동기화)
+    final LinkedHashMap<String, Entry> entries;
+    // 무효화할 때마다 증가. DB 조회 전후 값이 다르면 조회 결과를 캐시에 넣지 않는다
+    long generation;
+
+    Stripe(int maxSize) {
+      this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+          if (size() > maxSize) {
+            evictions.increment();
+            return true;
+          }
+          return false;
+        }
+      };
+    }
+  }
+
+  private static final class Entry {
+    private final UserPrincipal principal;
+    private final long expiresAt;
+
+    private Entry(UserPrincipal principal, long expiresAt) {
+      this.principal = principal;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -1,22 +1,31 @@
 package com.ab108.auth.config;
 
+import com.ab108.auth.crypto.BCryptCalibrator;
+import com.ab108.auth.crypto.BoundedPasswordEncoder;
 import com.ab108.auth.filter.JwtFilter;
+import com.ab108.auth.utils.ResponseWriter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
+  private static final String[] PUBLIC_ENDPOINTS = {"/users/signup", "/users/signin", "/users/refresh"};
+  private static final String[] AUTH_ENDPOINTS = {"/users/signup", "/users/signin", "/users/refresh", "/users/logout"};
+
   private final JwtFilter jwtFilter;
 
   @Bean
@@ -24,27 +33,45 @@ public class SecurityConfig {
     http
       .csrf(csrf -> csrf
         .ignoringRequestMatchers("/api/**") // JWT 인증 경로는 CSRF 제외
+        .ignoringRequestMatchers(AUTH_ENDPOINTS) // 토큰 발급, 폐기 경로 (세션 없이 body / Authorization 헤더만 사용)
       )
       .authorizeHttpRequests(auth -> auth
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // 스트리밍 응답 완료 후 async dispatch (최초 요청에서 이미 인가됨)
         .requestMatchers("/admin/**").hasAuthority("ROLE_ADMIN") // 관리자 권한 필요
+        .requestMatchers(PUBLIC_ENDPOINTS).permitAll() // 가입, 로그인, 재발급은 access token 없이 허용
         .requestMatchers("/users/**").hasAuthority("ROLE_USER")  // 사용자 권한 필요
         .anyRequest().permitAll() // 나머지 요청 허용
       )
       .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
       .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Stateless 세션
       .exceptionHandling(exception -> exception
-        .authenticationEntryPoint((request, response, authException) -> {
-          response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-          response.getWriter().write("Unauthorized");
-        })
+        .authenticationEntryPoint((request, response, authException) ->
+          ResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, ResponseWriter.UNAUTHORIZED))
       );
 
     return http.build();
   }
 
 
+  /**
+   * 전용 executor 에서 동작하는 BCrypt PasswordEncoder
+   * strength 가 0 이면 시작 시 현재 하드웨어에서 target-millis 에 맞는 비용을 측정해 사용한다.
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public BoundedPasswordEncoder passwordEncoder(
+    @Value("${password-hashing.pool-size:0}") int poolSize,
+    @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+    @Value("${password-hashing.timeout:5000}") long timeoutMillis,
+    @Value("${password-hashing.bcrypt.strength:0}") int strength,
+    @Value("${password-hashing.bcrypt.target-millis:250}") long targetMillis,
+    @Value("${password-hashing.bcrypt.min-strength:10}") int minStrength,
+    @Value("${password-hashing.bcrypt.max-strength:16}") int maxStrength) {
+
+    if (strength <= 0) {
+      strength = BCryptCalibrator.calibrate(targetMillis, minStrength, maxStrength);
+      log.info("Calibrated BCrypt strength {} for target {}ms", strength, targetMillis);
+    }
+    int threads = (poolSize > 0) ? poolSize : Runtime.getRuntime().availableProcessors();
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeoutMillis);
   }
 }
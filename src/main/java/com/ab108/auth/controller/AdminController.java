@@ -1,16 +1,21 @@
 package com.ab108.auth.controller;
 
-import com.ab108.auth.dto.UserLogResponse;
 import com.ab108.auth.service.AdminService;
+import com.ab108.auth.service.LogExportFormat;
+import com.ab108.auth.utils.ResponseWriter;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 @RestController
 @RequestMapping("/admin/users")
@@ -20,7 +25,7 @@ public class AdminController {
   private final AdminService adminService;
 
   @GetMapping("/{userId}/logs")
-  public Page<UserLogResponse> getUserLogs(
+  public ResponseEntity<?> getUserLogs(
     @PathVariable("userId") @NotNull Long userId,
     @RequestParam(value = "startDate", required = false) String startDate,
     @RequestParam(value = "endDate", required = false) String endDate,
@@ -28,11 +33,80 @@ public class AdminController {
     @RequestParam(value = "page", defaultValue = "0") int page,
     @RequestParam(value = "size", defaultValue = "10") int size) {
 
-    LocalDateTime start = (startDate != null) ? LocalDateTime.parse(startDate) : null;
-    LocalDateTime end = (endDate != null) ? LocalDateTime.parse(endDate) : null;
-    Pageable pageable = PageRequest.of(page, size);
+    try {
+      LocalDateTime start = (startDate != null) ? LocalDateTime.parse(startDate) : null;
+      LocalDateTime end = (endDate != null) ? LocalDateTime.parse(endDate) : null;
+      Pageable pageable = PageRequest.of(page, size);
+      return ResponseEntity.ok(adminService.getUserLogs(userId, start, end, logType, pageable));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return badRequest(e.getMessage());
+    }
+  }
+
+  @GetMapping("/{userId}/logs/cursor")
+  public ResponseEntity<?> getUserLogsByCursor(
+    @PathVariable("userId") @NotNull Long userId,
+    @RequestParam(value = "startDate", required = false) String startDate,
+    @RequestParam(value = "endDate", required = false) String endDate,
+    @RequestParam(value = "logType", required = false) String logType,
+    @RequestParam(value = "cursor", required = false) String cursor,
+    @RequestParam(value = "size", defaultValue = "10") int size) {
+
+    if (size < 1 || size > 1000) {
+      return badRequest("size must be between 1 and 1000");
+    }
+
+    try {
+      LocalDateTime start = (startDate != null) ? LocalDateTime.parse(startDate) : null;
+      LocalDateTime end = (endDate != null) ? LocalDateTime.parse(endDate) : null;
+      return ResponseEntity.ok(adminService.getUserLogsByCursor(userId, start, end, logType, cursor, size));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return badRequest(e.getMessage());
+    }
+  }
+
+  @GetMapping("/{userId}/logs/export")
+  public ResponseEntity<?> exportUserLogs(
+    @PathVariable("userId") @NotNull Long userId,
+    @RequestParam(value = "startDate", required = false) String startDate,
+    @RequestParam(value = "endDate", required = false) String endDate,
+    @RequestParam(value = "logType", required = false) String logType,
+    @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+
+    LogExportFormat exportFormat;
+    LocalDateTime start;
+    LocalDateTime end;
+    try {
+      exportFormat = LogExportFormat.from(format);
+      start = (startDate != null) ? LocalDateTime.parse(startDate) : null;
+      end = (endDate != null) ? LocalDateTime.parse(endDate) : null;
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return badRequest(e.getMessage()); // 메시지에 요청한 format 값이 그대로 들어 있음
+    }
+
+    // 응답 스트림에 바로 기록 (별도 스레드에서 실행되며, 트랜잭션은 서비스 메서드에서 열림)
+    StreamingResponseBody body = out -> adminService.exportUserLogs(userId, start, end, logType, exportFormat, out);
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+      .header(HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"user-" + userId + "-logs." + exportFormat.getExtension() + "\"")
+      .body(body);
+  }
+
+  @GetMapping("/{userId}/logs/daily-counts")
+  public ResponseEntity<?> getDailyCounts(
+    @PathVariable("userId") @NotNull Long userId,
+    @RequestParam(value = "startDate", required = false) String startDate,
+    @RequestParam(value = "endDate", required = false) String endDate) {
 
-    return adminService.getUserLogs(userId, start, end, logType, pageable);
+    try {
+      // 기본 조회 기간은 최근 30일
+      LocalDate end = (endDate != null) ? LocalDate.parse(endDate) : LocalDate.now();
+      LocalDate start = (startDate != null) ? LocalDate.parse(startDate) : end.minusDays(29);
+      return ResponseEntity.ok(adminService.getDailyCounts(userId, start, end));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return badRequest(e.getMessage());
+    }
   }
 
   @PostMapping("/{userId}/expire-tokens")
@@ -41,8 +115,15 @@ public class AdminController {
       adminService.expireUserTokens(userId);
       return ResponseEntity.ok("{\"message\": \"User tokens expired successfully\"}");
     } catch (IllegalArgumentException e) {
-      return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+      return badRequest(e.getMessage());
     }
   }
+
+  // {"error": "..."} 본문 (메시지를 JSON 이스케이프)
+  private static ResponseEntity<String> badRequest(String message) {
+    return ResponseEntity.badRequest()
+      .contentType(MediaType.APPLICATION_JSON)
+      .body(ResponseWriter.errorJson(message));
+  }
 }
 
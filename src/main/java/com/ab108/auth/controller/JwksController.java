@@ -0,0 +1,44 @@
+package com.ab108.auth.controller;
+
+import com.ab108.auth.utils.SigningKeyRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * 다른 서비스가 access token 을 직접 검증할 수 있도록 서명 공개 키(JWK Set)를 제공.
+ * 응답은 키 교체 시에만 바뀌므로 ETag 와 Cache-Control 로 캐시하게 한다.
+ * 다음 키는 활성화 한 주기 전에 미리 포함되므로, max-age 가 교체 주기보다 짧으면 캐시 갱신 전에 모르는 kid 를 만나지 않는다.
+ */
+@RestController
+public class JwksController {
+
+  private final SigningKeyRing keyRing;
+  private final CacheControl cacheControl;
+
+  public JwksController(
+    SigningKeyRing keyRing,
+    @Value("${jwt.keys.jwks-max-age:300}") long maxAgeSeconds
+  ) {
+    this.keyRing = keyRing;
+    this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+  }
+
+  @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<String> jwks(WebRequest request) {
+    SigningKeyRing.Jwks jwks = keyRing.jwks();
+    if (request.checkNotModified(jwks.etag())) {
+      return null; // 304 Not Modified (헤더는 checkNotModified 가 설정)
+    }
+    return ResponseEntity.ok()
+      .eTag(jwks.etag())
+      .cacheControl(cacheControl)
+      .body(jwks.json());
+  }
+}
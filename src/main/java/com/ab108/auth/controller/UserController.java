@@ -1,23 +1,30 @@
 package com.ab108.auth.controller;
 
 import com.ab108.auth.dto.LoginRequest;
-import com.ab108.auth.dto.LoginResponse;
+import com.ab108.auth.dto.RefreshRequest;
 import com.ab108.auth.dto.SignupRequest;
 import com.ab108.auth.dto.SignupResponse;
+import com.ab108.auth.dto.TokenPair;
 import com.ab108.auth.entity.User;
 import com.ab108.auth.repository.UserRepository;
 import com.ab108.auth.service.UserService;
+import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.ResponseWriter;
+import com.ab108.auth.utils.VerifiedToken;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/users")
@@ -25,6 +32,7 @@ public class UserController {
   private final UserRepository userRepository;
   private final UserService userService;
   private final PasswordEncoder passwordEncoder;
+  private final JwtUtil jwtUtil;
 
   @PostMapping("/signup")
   public ResponseEntity<?> signup(@RequestBody SignupRequest request) {
@@ -36,26 +44,51 @@ public class UserController {
     }
   }
 
+  // 요청이 가장 많은 경로이므로 Jackson 을 거치지 않고 응답 버퍼에 직접 씀
   @PostMapping("/signin")
-  public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+  public void login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest,
+                    HttpServletResponse response) throws IOException {
+    TokenPair tokens;
     try {
-      String token = userService.login(request.getEmail(), request.getPassword());
-      long now = System.currentTimeMillis();
-      long expiration = now + 3600 * 1000; // 1 hour validity
+      // server.forward-headers-strategy=native 이므로 신뢰하는 프록시 뒤에서는 X-Forwarded-For 의 클라이언트 IP
+      tokens = userService.login(request.getEmail(), request.getPassword(), httpRequest.getRemoteAddr());
+    } catch (IllegalArgumentException e) {
+      ResponseWriter.writeError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+      return;
+    }
+    writeTokens(response, tokens);
+  }
 
-      return ResponseEntity.ok(new LoginResponse(token, now / 1000, expiration / 1000));
+  @PostMapping("/refresh")
+  public void refresh(@RequestBody RefreshRequest request, HttpServletResponse response) throws IOException {
+    TokenPair tokens;
+    try {
+      tokens = userService.refresh(request.getRefreshToken());
     } catch (IllegalArgumentException e) {
-      return ResponseEntity.badRequest().body("{\"error\": \"" + e.getMessage() + "\"}");
+      ResponseWriter.writeError(response, HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+      return;
     }
+    writeTokens(response, tokens);
   }
 
   @PostMapping("/logout")
-  public ResponseEntity<?> logout(HttpServletRequest request) {
+  public void logout(Authentication authentication, @RequestBody(required = false) RefreshRequest body,
+                     HttpServletResponse response) throws IOException {
+    // JwtFilter 가 검증한 토큰을 그대로 사용 (요청당 서명 검증 1회)
+    VerifiedToken verified = (authentication != null && authentication.getCredentials() instanceof VerifiedToken token)
+      ? token : null;
     try {
-      userService.logout(request);
-      return ResponseEntity.ok("Successfully logged out");
+      userService.logout(verified, (body != null) ? body.getRefreshToken() : null);
     } catch (Exception e) {
-      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
+      ResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, ResponseWriter.LOGOUT_FAILED);
+      return;
     }
+    ResponseWriter.write(response, HttpServletResponse.SC_OK, ResponseWriter.LOGGED_OUT);
+  }
+
+  private void writeTokens(HttpServletResponse response, TokenPair tokens) throws IOException {
+    long now = System.currentTimeMillis();
+    long expiration = now + jwtUtil.getAccessTokenExpTime(); // 발급한 토큰과 같은 유효 기간 (jwt.expiration_time)
+    ResponseWriter.writeTokens(response, tokens.getAccessToken(), tokens.getRefreshToken(), now / 1000, expiration / 1000);
   }
 }
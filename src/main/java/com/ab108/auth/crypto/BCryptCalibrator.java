@@ -0,0 +1,45 @@
+package com.ab108.auth.crypto;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 현재 하드웨어에서 BCrypt 해시 한 번이 목표 시간에 가장 가깝게 (넘지 않게) 걸리는 비용(strength)을 찾는다.
+ */
+public final class BCryptCalibrator {
+
+  private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+  private BCryptCalibrator() {
+  }
+
+  /**
+   * @param targetMillis 해시 한 번의 목표 시간
+   * @param minStrength 측정 결과와 관계없이 사용할 최소 비용
+   * @param maxStrength 최대 비용
+   * @return 선택한 비용
+   */
+  public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+    measureMillis(4); // warm-up
+
+    int chosen = minStrength;
+    for (int strength = minStrength; strength <= maxStrength; strength++) {
+      long elapsed = measureMillis(strength);
+      if (elapsed > targetMillis) {
+        break;
+      }
+      chosen = strength;
+      // 비용이 1 오를 때마다 시간이 두 배가 되므로 다음 단계가 목표를 넘을 것이 확실하면 측정하지 않음
+      if (elapsed * 2 > targetMillis * 3 / 2) {
+        break;
+      }
+    }
+    return chosen;
+  }
+
+  private static long measureMillis(int strength) {
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+    long start = System.nanoTime();
+    encoder.encode(SAMPLE_PASSWORD);
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+}
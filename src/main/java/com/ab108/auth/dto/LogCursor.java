@@ -0,0 +1,37 @@
+package com.ab108.auth.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 로그 keyset 페이지네이션 커서 (마지막으로 받은 행의 timestamp, id)
+ */
+@Getter
+public class LogCursor {
+
+  private final LocalDateTime timestamp;
+  private final Long id;
+
+  public LogCursor(LocalDateTime timestamp, Long id) {
+    this.timestamp = timestamp;
+    this.id = id;
+  }
+
+  public String encode() {
+    String raw = timestamp + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static LogCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.indexOf('|');
+      return new LogCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+  }
+}
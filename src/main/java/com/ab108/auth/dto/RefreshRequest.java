@@ -0,0 +1,15 @@
+package com.ab108.auth.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class RefreshRequest {
+
+  private String refreshToken;
+
+  public RefreshRequest(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
+}
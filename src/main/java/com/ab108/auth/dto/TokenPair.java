@@ -0,0 +1,14 @@
+package com.ab108.auth.dto;
+
+import lombok.Getter;
+
+@Getter
+public class TokenPair {
+  private final String accessToken;
+  private final String refreshToken;
+
+  public TokenPair(String accessToken, String refreshToken) {
+    this.accessToken = accessToken;
+    this.refreshToken = refreshToken;
+  }
+}
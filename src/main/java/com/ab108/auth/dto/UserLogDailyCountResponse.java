@@ -0,0 +1,18 @@
+package com.ab108.auth.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class UserLogDailyCountResponse {
+  private LocalDate date;
+  private String logType;
+  private long count;
+
+  public UserLogDailyCountResponse(LocalDate date, String logType, long count) {
+    this.date = date;
+    this.logType = logType;
+    this.count = count;
+  }
+}
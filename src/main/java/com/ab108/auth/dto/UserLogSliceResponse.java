@@ -0,0 +1,18 @@
+package com.ab108.auth.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class UserLogSliceResponse {
+  private List<UserLogResponse> content;
+  private String nextCursor; // 다음 페이지가 없으면 null
+  private boolean hasNext;
+
+  public UserLogSliceResponse(List<UserLogResponse> content, String nextCursor, boolean hasNext) {
+    this.content = content;
+    this.nextCursor = nextCursor;
+    this.hasNext = hasNext;
+  }
+}
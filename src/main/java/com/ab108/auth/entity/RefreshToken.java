@@ -0,0 +1,57 @@
+package com.ab108.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 불투명 refresh token. 원문은 발급 시 한 번만 클라이언트에 전달하고, 여기에는 SHA-256 해시만 저장한다.
+ * 같은 로그인에서 회전(rotation)으로 이어진 토큰들은 같은 familyId 를 가진다.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+  @Index(name = "uk_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+  @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+  @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+  @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@NoArgsConstructor
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+  @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(name = "token_hash", nullable = false, length = 64)
+  private String tokenHash; // SHA-256 (hex)
+
+  @Column(name = "family_id", nullable = false, length = 36)
+  private String familyId;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(nullable = false, length = 100)
+  private String email; // access token 재발급 시 UserPrincipalCache 조회 키
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(name = "rotated_at")
+  private LocalDateTime rotatedAt; // 새 토큰으로 교체된 시각 (이후 재사용되면 탈취로 간주)
+
+  @Column(nullable = false)
+  private boolean revoked;
+
+  public RefreshToken(String tokenHash, String familyId, Long userId, String email, LocalDateTime expiresAt) {
+    this.tokenHash = tokenHash;
+    this.familyId = familyId;
+    this.userId = userId;
+    this.email = email;
+    this.expiresAt = expiresAt;
+  }
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class User {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+  @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 100)
@@ -55,6 +56,13 @@ public class User {
     this.passwordUpdatedAt = passwordUpdatedAt;
   }
 
+  /**
+   * 같은 비밀번호를 더 높은 비용으로 다시 해싱한 값으로 교체 (비밀번호 변경이 아니므로 passwordUpdatedAt 은 유지)
+   */
+  public void upgradePasswordHash(String password) {
+    this.password = password;
+  }
+
   // 엔티티가 처음 저장될 때 자동으로 값 설정
 //  @PrePersist
 //  protected void onCreate() {
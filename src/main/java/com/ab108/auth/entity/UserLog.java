@@ -4,20 +4,27 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_logs")
+@Table(name = "user_logs", indexes = {
+  @Index(name = "idx_user_logs_user_timestamp", columnList = "user_id, timestamp, id"),
+  @Index(name = "idx_user_logs_user_type_timestamp", columnList = "user_id, log_type, timestamp, id"),
+  @Index(name = "idx_user_logs_log_date", columnList = "log_date")
+})
 @Getter
 @NoArgsConstructor
 public class UserLog {
 
+  // pooled sequence 로 id 를 미리 할당받아 INSERT 를 JDBC batch 로 묶을 수 있게 함 (IDENTITY 는 batch 불가)
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_logs_seq")
+  @SequenceGenerator(name = "user_logs_seq", sequenceName = "user_logs_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
-  @JoinColumn(name = "user_id", nullable = false)
+  @JoinColumn(name = "user_id") // 존재하지 않는 이메일로 로그인 실패한 경우 null
   private User user;
 
   @Column(nullable = false)
@@ -29,10 +36,25 @@ public class UserLog {
   @Column(nullable = true, length = 500)
   private String message; // 추가적인 메시지 (로그인 실패 이유 등)
 
+  // 로그 날짜 (일 단위). 보존 기간 정리는 이 값으로 하루씩 삭제하고, 기간 조회는 이 값으로 범위를 좁힌다
+  // 테이블은 파티셔닝되어 있지 않다 (H2). PARTITION BY RANGE 를 지원하는 DB 로 옮기면 이 컬럼을 파티션 키로 쓸 수 있다
+  @Column(name = "log_date", nullable = false)
+  private LocalDate logDate;
+
   public UserLog(User user, String logType, LocalDateTime timestamp, String message) {
     this.user = user;
     this.logType = logType;
     this.timestamp = timestamp;
     this.message = message;
+    this.logDate = logDateOf(timestamp);
+  }
+
+  /**
+   * 시각이 속한 로그 날짜 (일 단위)
+   * @param timestamp 시각, null 허용
+   * @return 로그 날짜, timestamp 가 null 이면 null
+   */
+  public static LocalDate logDateOf(LocalDateTime timestamp) {
+    return timestamp != null ? timestamp.toLocalDate() : null;
   }
 }
@@ -0,0 +1,43 @@
+package com.ab108.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별, 로그 타입별 일일 로그 건수 (AuditLogWriter 가 로그 저장이 커밋된 뒤 upsert 로 누적)
+ */
+@Entity
+@Table(name = "user_log_daily_counts", uniqueConstraints = {
+  @UniqueConstraint(name = "uk_user_log_daily_counts", columnNames = {"user_id", "log_date", "log_type"})
+})
+@Getter
+@NoArgsConstructor
+public class UserLogDailyCount {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_log_daily_counts_seq")
+  @SequenceGenerator(name = "user_log_daily_counts_seq", sequenceName = "user_log_daily_counts_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "log_date", nullable = false)
+  private LocalDate logDate;
+
+  @Column(name = "log_type", nullable = false)
+  private String logType;
+
+  @Column(nullable = false)
+  private long count;
+
+  public UserLogDailyCount(Long userId, LocalDate logDate, String logType, long count) {
+    this.userId = userId;
+    this.logDate = logDate;
+    this.logType = logType;
+    this.count = count;
+  }
+}
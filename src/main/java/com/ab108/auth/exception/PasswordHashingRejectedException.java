@@ -0,0 +1,11 @@
+package com.ab108.auth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends RuntimeException {
+  public PasswordHashingRejectedException() {
+    super("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+  }
+}
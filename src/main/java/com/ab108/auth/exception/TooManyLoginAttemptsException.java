@@ -0,0 +1,16 @@
+package com.ab108.auth.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyLoginAttemptsException extends RuntimeException {
+  private final long retryAfterMillis;
+
+  public TooManyLoginAttemptsException(long retryAfterMillis) {
+    super("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+    this.retryAfterMillis = retryAfterMillis;
+  }
+}
@@ -1,6 +1,9 @@
 package com.ab108.auth.filter;
 
 import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.ResponseWriter;
+import com.ab108.auth.utils.TokenParseResult;
+import com.ab108.auth.utils.TokenStatus;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,22 +27,25 @@ public class JwtFilter extends OncePerRequestFilter {
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
     throws ServletException, IOException {
-    try {
-      String token = jwtUtil.resolveToken(request);
-
-      if (token != null && jwtUtil.validateToken(token)) {
-        Authentication authentication = jwtUtil.getAuthentication(token);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-      } else {
-        SecurityContextHolder.clearContext(); // SecurityContext 초기화
-      }
-
+    String token = jwtUtil.resolveToken(request);
+    if (token == null) {
+      SecurityContextHolder.clearContext(); // SecurityContext 초기화
       filterChain.doFilter(request, response);
-    } catch (Exception e) {
-      SecurityContextHolder.clearContext(); // 예외 발생 시도 초기화
-      response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-      response.getWriter().write("Invalid or expired token");
+      return;
     }
+
+    // 거절 사유는 예외 대신 상태로 받음 (토큰당 서명 검증 1회)
+    TokenParseResult parsed = jwtUtil.tryParseToken(token);
+    TokenStatus status = parsed.isParsed() ? jwtUtil.checkToken(parsed.token()) : parsed.status();
+    if (!status.isValid()) {
+      SecurityContextHolder.clearContext();
+      ResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, ResponseWriter.INVALID_TOKEN); // 미리 인코딩된 본문
+      return;
+    }
+
+    Authentication authentication = jwtUtil.getAuthentication(parsed.token()); // 검증된 토큰을 credentials 로 전달
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+    filterChain.doFilter(request, response);
   }
 
 }
@@ -1,6 +1,9 @@
 package com.ab108.auth.handler;
 
+import com.ab108.auth.exception.PasswordHashingRejectedException;
+import com.ab108.auth.exception.TooManyLoginAttemptsException;
 import com.ab108.auth.exception.UnauthorizedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,6 +17,21 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
   }
 
+  @ExceptionHandler(TooManyLoginAttemptsException.class)
+  public ResponseEntity<?> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex) {
+    long retryAfterSeconds = Math.max(1, (ex.getRetryAfterMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+      .body(ex.getMessage());
+  }
+
+  @ExceptionHandler(PasswordHashingRejectedException.class)
+  public ResponseEntity<?> handlePasswordHashingRejectedException(PasswordHashingRejectedException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(ex.getMessage());
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<?> handleGenericException(Exception ex) {
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred");
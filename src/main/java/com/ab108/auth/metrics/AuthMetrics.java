@@ -0,0 +1,89 @@
+package com.ab108.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 경로의 단계별 소요 시간과 거절 사유별 횟수.
+ * 모든 Timer / Counter 는 생성 시 한 번만 등록하고 enum ordinal 로 배열에서 꺼내므로,
+ * 요청마다 태그를 만들거나 registry 를 조회하지 않는다 (Timer.Sample 대신 System.nanoTime 시작값을 넘겨 할당 없음).
+ */
+@Component
+public class AuthMetrics {
+
+  /**
+   * 측정 단계 (auth.stage{stage=...})
+   */
+  public enum Stage {
+    TOKEN_PARSE,      // JwtUtil.tryParseToken 전체 (서명 검증 + 클레임 추출)
+    SIGNATURE_VERIFY, // jjwt 의 디코딩 + 서명 검증
+    BLACKLIST_CHECK,  // 블랙리스트, 무효화 기준 시점 확인
+    USER_LOOKUP,      // 사용자 조회 (DB 또는 캐시)
+    PASSWORD_VERIFY   // BCrypt 비교
+  }
+
+  /**
+   * 거절 사유 (auth.rejections{reason=...})
+   */
+  public enum Rejection {
+    MALFORMED_TOKEN,
+    INVALID_SIGNATURE,
+    UNSUPPORTED_TOKEN,
+    EXPIRED_TOKEN,
+    BLACKLISTED_TOKEN,
+    INVALIDATED_TOKEN,
+    USER_NOT_FOUND,
+    BAD_CREDENTIALS,
+    PASSWORD_EXPIRED,
+    THROTTLED
+  }
+
+  private final Timer[] timers;
+  private final Counter[] rejections;
+
+  public AuthMetrics(MeterRegistry registry) {
+    Stage[] stages = Stage.values();
+    this.timers = new Timer[stages.length];
+    for (Stage stage : stages) {
+      timers[stage.ordinal()] = Timer.builder("auth.stage")
+        .description("Authentication hot path stage latency")
+        .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofNanos(1_000))
+        .maximumExpectedValue(Duration.ofSeconds(5))
+        .register(registry);
+    }
+
+    Rejection[] reasons = Rejection.values();
+    this.rejections = new Counter[reasons.length];
+    for (Rejection reason : reasons) {
+      rejections[reason.ordinal()] = Counter.builder("auth.rejections")
+        .description("Rejected authentication attempts by reason")
+        .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+        .register(registry);
+    }
+  }
+
+  /**
+   * 단계 소요 시간 기록
+   * @param stage 측정 단계
+   * @param startNanos 단계 시작 시점의 System.nanoTime()
+   */
+  public void record(Stage stage, long startNanos) {
+    timers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 거절 횟수 증가
+   * @param reason 거절 사유
+   */
+  public void reject(Rejection reason) {
+    rejections[reason.ordinal()].increment();
+  }
+}
@@ -0,0 +1,102 @@
+package com.ab108.auth.metrics;
+
+import com.ab108.auth.audit.AuditLogWriter;
+import com.ab108.auth.cache.UserPrincipalCache;
+import com.ab108.auth.crypto.BoundedPasswordEncoder;
+import com.ab108.auth.ratelimit.LoginAttemptLimiter;
+import com.ab108.auth.revocation.RevocationEventApplier;
+import com.ab108.auth.utils.InvalidationTable;
+import com.ab108.auth.utils.TokenBlacklist;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 각 컴포넌트가 이미 집계하고 있는 상태 값을 gauge / function counter 로 노출.
+ * 값은 scrape 시점에만 읽으므로 요청 처리 경로에는 비용이 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthStateMeterBinder implements MeterBinder {
+
+  private final TokenBlacklist tokenBlacklist;
+  private final InvalidationTable invalidationTable;
+  private final UserPrincipalCache userPrincipalCache;
+  private final AuditLogWriter auditLogWriter;
+  private final LoginAttemptLimiter loginAttemptLimiter;
+  private final BoundedPasswordEncoder passwordEncoder;
+  private final RevocationEventApplier revocationEventApplier;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    // 폐기 상태
+    Gauge.builder("auth.blacklist.size", tokenBlacklist, TokenBlacklist::size)
+      .description("Live blacklisted token ids")
+      .register(registry);
+    Gauge.builder("auth.blacklist.false.positive.rate", tokenBlacklist, TokenBlacklist::getFalsePositiveRate)
+      .register(registry);
+    Gauge.builder("auth.invalidation.size", invalidationTable, InvalidationTable::size)
+      .description("Users with an invalidate timestamp")
+      .register(registry);
+    TimeGauge.builder("auth.revocation.lag.max", revocationEventApplier, TimeUnit.MILLISECONDS,
+        RevocationEventApplier::getMaxLagMillis)
+      .register(registry);
+    FunctionCounter.builder("auth.revocation.applied", revocationEventApplier,
+        RevocationEventApplier::getAppliedEventCount)
+      .register(registry);
+
+    // 사용자 캐시
+    Gauge.builder("auth.user.cache.size", userPrincipalCache, UserPrincipalCache::size)
+      .register(registry);
+    FunctionCounter.builder("auth.user.cache.requests", userPrincipalCache, UserPrincipalCache::getHitCount)
+      .tag("result", "hit")
+      .register(registry);
+    FunctionCounter.builder("auth.user.cache.requests", userPrincipalCache, UserPrincipalCache::getMissCount)
+      .tag("result", "miss")
+      .register(registry);
+    FunctionCounter.builder("auth.user.cache.evictions", userPrincipalCache, UserPrincipalCache::getEvictionCount)
+      .register(registry);
+
+    // 감사 로그 기록 (flush 는 백그라운드 스레드에서 측정)
+    FunctionTimer.builder("auth.audit.write", auditLogWriter,
+        AuditLogWriter::getFlushCount, AuditLogWriter::getTotalFlushNanos, TimeUnit.NANOSECONDS)
+      .description("Audit log batch flush")
+      .register(registry);
+    Gauge.builder("auth.audit.queue.depth", auditLogWriter, AuditLogWriter::getQueueDepth)
+      .register(registry);
+    FunctionCounter.builder("auth.audit.records", auditLogWriter, AuditLogWriter::getWrittenCount)
+      .tag("result", "written")
+      .register(registry);
+    FunctionCounter.builder("auth.audit.records", auditLogWriter, AuditLogWriter::getDroppedCount)
+      .tag("result", "dropped")
+      .register(registry);
+    FunctionCounter.builder("auth.audit.records", auditLogWriter, AuditLogWriter::getSpilledCount)
+      .tag("result", "spilled")
+      .register(registry);
+    FunctionCounter.builder("auth.audit.records", auditLogWriter, AuditLogWriter::getFailedCount)
+      .tag("result", "failed") // 저장 실패 후 spill 파일로 옮겨 다시 시도하는 레코드 (유실 아님)
+      .register(registry);
+    FunctionCounter.builder("auth.audit.rollup.failed", auditLogWriter, AuditLogWriter::getRollupFailedCount)
+      .description("Daily count rows not updated after the audit records were written")
+      .register(registry);
+
+    // 로그인 시도 제한
+    Gauge.builder("auth.login.limiter.keys", loginAttemptLimiter, LoginAttemptLimiter::getTrackedKeys)
+      .register(registry);
+
+    // 비밀번호 해싱 풀
+    Gauge.builder("auth.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+      .register(registry);
+    Gauge.builder("auth.password.hashing.queue", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+      .register(registry);
+    FunctionCounter.builder("auth.password.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+      .register(registry);
+  }
+}
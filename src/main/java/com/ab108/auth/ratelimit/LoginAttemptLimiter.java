@@ -0,0 +1,288 @@
+package com.ab108.auth.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 시도 제한기.
+ * 이메일별, 클라이언트 IP 별 token bucket 으로 시도 횟수를 제한하고, 이메일은 연속 실패가 쌓이면 점점 길게 잠근다.
+ * 제한에 걸린 요청은 사용자 조회와 BCrypt 비교 전에 바로 거절되므로 대량 대입 공격에도 해싱 비용이 늘지 않는다.
+ * IP 는 여러 사용자가 공유할 수 있으므로(NAT, 프록시) 기본으로 잠그지 않고 token bucket 으로만 제한하며,
+ * 로그인에 성공한 시도는 IP 토큰을 돌려주어 실패한 시도만 IP 한도를 소비한다.
+ * 클라이언트 IP 는 server.forward-headers-strategy 로 신뢰하는 프록시의 X-Forwarded-For 에서 얻는다.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+  private final KeyedLimiter emailLimiter;
+  private final KeyedLimiter ipLimiter;
+
+  private final LongAdder rejected = new LongAdder();
+
+  public LoginAttemptLimiter(
+    @Value("${login-limit.max-keys:100000}") int maxKeys,
+    @Value("${login-limit.email.capacity:5}") int emailCapacity,
+    @Value("${login-limit.email.refill-per-minute:5}") int emailRefillPerMinute,
+    @Value("${login-limit.ip.capacity:20}") int ipCapacity,
+    @Value("${login-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+    @Value("${login-limit.ip.lockout-threshold:0}") int ipLockoutThreshold,
+    @Value("${login-limit.lockout.threshold:5}") int lockoutThreshold,
+    @Value("${login-limit.lockout.base:60000}") long baseLockoutMillis,
+    @Value("${login-limit.lockout.max:3600000}") long maxLockoutMillis
+  ) {
+    Lockout lockout = new Lockout(lockoutThreshold, baseLockoutMillis, maxLockoutMillis);
+    this.emailLimiter = new KeyedLimiter(maxKeys, emailCapacity, emailRefillPerMinute, lockout);
+    // 0 이면 IP 는 잠그지 않음 (throttling 만)
+    Lockout ipLockout = (ipLockoutThreshold > 0)
+      ? new Lockout(ipLockoutThreshold, baseLockoutMillis, maxLockoutMillis) : null;
+    this.ipLimiter = new KeyedLimiter(maxKeys, ipCapacity, ipRefillPerMinute, ipLockout);
+  }
+
+  /**
+   * 로그인 시도 허용 여부 확인 (허용되면 이메일, IP 버킷에서 토큰 하나씩 소비)
+   * @param email 이메일
+   * @param clientIp 클라이언트 IP, 알 수 없으면 null
+   * @param now 현재 시각 (epoch millis)
+   * @return 0 이면 허용, 양수면 다시 시도할 수 있을 때까지 남은 시간 (millis)
+   */
+  public long tryAcquire(String email, String clientIp, long now) {
+    String emailKey = normalize(email);
+    long wait = emailLimiter.tryAcquire(emailKey, now);
+    if (wait == 0) {
+      wait = ipLimiter.tryAcquire(clientIp, now);
+      if (wait > 0) {
+        emailLimiter.refund(emailKey, now); // IP 에서 거절되었으므로 이메일 토큰은 돌려줌
+      }
+    }
+    if (wait > 0) {
+      rejected.increment();
+    }
+    return wait;
+  }
+
+  /**
+   * 로그인 실패 기록. 연속 실패가 임계치를 넘으면 잠금 시간이 두 배씩 늘어난다 (IP 는 ip.lockout-threshold 가 0 보다 클 때만).
+   */
+  public void recordFailure(String email, String clientIp, long now) {
+    emailLimiter.recordFailure(normalize(email), now);
+    ipLimiter.recordFailure(clientIp, now);
+  }
+
+  /**
+   * 로그인 성공 시 이메일의 연속 실패 기록 초기화, 시도에 쓴 IP 토큰 반환
+   * (같은 IP 를 쓰는 다른 사용자의 실패 기록은 유지)
+   */
+  public void recordSuccess(String email, String clientIp, long now) {
+    emailLimiter.reset(normalize(email));
+    ipLimiter.refund(clientIp, now);
+  }
+
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  public int getTrackedKeys() {
+    return emailLimiter.size() + ipLimiter.size();
+  }
+
+  private static String normalize(String email) {
+    return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+  }
+
+  private record Lockout(int threshold, long baseMillis, long maxMillis) {
+
+    // threshold 번째 실패부터 base, 2 * base, 4 * base ... (최대 max)
+    // 마지막 실패 후 max 보다 오래 실패가 없으면 다음 실패는 처음부터 다시 센다
+    long durationFor(int failures) {
+      int exponent = Math.min(failures - threshold, 30);
+      return Math.min(maxMillis, baseMillis << exponent);
+    }
+  }
+
+  /**
+   * 키별 버킷 테이블. 키 해시로 나눈 stripe 마다 잠금을 따로 두어 경합을 줄이고,
+   * stripe 별 LRU 상한으로 전체 키 수(메모리)를 제한한다.
+   */
+  private static final class KeyedLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final double capacity;
+    private final double millisPerToken;
+    private final Lockout lockout; // null 이면 잠그지 않음
+
+    KeyedLimiter(int maxKeys, int capacity, int refillPerMinute, Lockout lockout) {
+      this.capacity = capacity;
+      this.millisPerToken = 60_000.0 / refillPerMinute;
+      this.lockout = lockout;
+      int maxPerStripe = Math.max(1, maxKeys / STRIPES);
+      for (int i = 0; i < STRIPES; i++) {
+        stripes[i] = new Stripe(maxPerStripe);
+      }
+    }
+
+    long tryAcquire(String key, long now) {
+      if (key == null) {
+        return 0;
+      }
+      Stripe stripe = stripeFor(key);
+      synchronized (stripe) {
+        Bucket bucket = stripe.getOrCreate(key, capacity, now);
+        if (bucket.lockedUntil > now) {
+          return bucket.lockedUntil - now;
+        }
+        refill(bucket, now);
+        if (bucket.tokens >= 1) {
+          bucket.tokens -= 1;
+          return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - bucket.tokens) * millisPerToken));
+      }
+    }
+
+    void refund(String key, long now) {
+      if (key == null) {
+        return;
+      }
+      Stripe stripe = stripeFor(key);
+      synchronized (stripe) {
+        Bucket bucket = stripe.lookup(key);
+        if (bucket != null) {
+          refill(bucket, now);
+          bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+        }
+      }
+    }
+
+    void recordFailure(String key, long now) {
+      if (key == null || lockout == null) {
+        return;
+      }
+      Stripe stripe = stripeFor(key);
+      synchronized (stripe) {
+        Bucket bucket = stripe.getOrCreate(key, capacity, now);
+        if (now - bucket.lastFailure > lockout.maxMillis()) {
+          bucket.failures = 0; // 오래된 실패는 잊음
+        }
+        bucket.failures++;
+        bucket.lastFailure = now;
+        if (bucket.failures >= lockout.threshold()) {
+          bucket.lockedUntil = now + lockout.durationFor(bucket.failures);
+        }
+      }
+    }
+
+    void reset(String key) {
+      if (key == null) {
+        return;
+      }
+      Stripe stripe = stripeFor(key);
+      synchronized (stripe) {
+        Bucket bucket = stripe.lookup(key);
+        if (bucket != null) {
+          bucket.failures = 0;
+          bucket.lockedUntil = 0;
+        }
+      }
+    }
+
+    int size() {
+      int size = 0;
+      for (Stripe stripe : stripes) {
+        synchronized (stripe) {
+          size += stripe.buckets.size() + stripe.locked.size();
+        }
+      }
+      return size;
+    }
+
+    private void refill(Bucket bucket, long now) {
+      long elapsed = now - bucket.lastRefill;
+      if (elapsed > 0) {
+        bucket.tokens = Math.min(capacity, bucket.tokens + elapsed / millisPerToken);
+        bucket.lastRefill = now;
+      }
+    }
+
+    private Stripe stripeFor(String key) {
+      int h = key.hashCode();
+      return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+  }
+
+  private static final class Stripe {
+
+    // accessOrder = true 인 LinkedHashMap 으로 가장 오래 접근하지 않은 키부터 제거 (접근은 stripe 로 동기화)
+    final LinkedHashMap<String, Bucket> buckets;
+    // LRU 에서 밀려난 잠금 중인 버킷. 다른 키를 대량으로 만들어 잠금을 풀 수 없도록 따로 보관한다 (같은 상한)
+    final HashMap<String, Bucket> locked = new HashMap<>();
+    private final int maxSize;
+    private long now; // 진행 중인 요청의 시각 (제거 시 잠금 여부 판단)
+
+    Stripe(int maxSize) {
+      this.maxSize = maxSize;
+      this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+          if (size() <= Stripe.this.maxSize) {
+            return false;
+          }
+          if (eldest.getValue().lockedUntil > now) {
+            keepLocked(eldest.getKey(), eldest.getValue());
+          }
+          return true;
+        }
+      };
+    }
+
+    Bucket getOrCreate(String key, double capacity, long now) {
+      this.now = now;
+      Bucket bucket = lookup(key);
+      if (bucket == null) {
+        bucket = new Bucket(capacity, now);
+        buckets.put(key, bucket);
+      }
+      return bucket;
+    }
+
+    Bucket lookup(String key) {
+      Bucket bucket = buckets.get(key);
+      if (bucket == null) {
+        bucket = locked.remove(key);
+        if (bucket != null) {
+          buckets.put(key, bucket); // 다시 접근된 잠금 버킷은 LRU 로 복귀
+        }
+      }
+      return bucket;
+    }
+
+    private void keepLocked(String key, Bucket bucket) {
+      if (locked.size() >= maxSize) {
+        locked.values().removeIf(b -> b.lockedUntil <= now); // 잠금이 끝난 버킷부터 정리
+      }
+      if (locked.size() < maxSize) {
+        locked.put(key, bucket);
+      }
+    }
+  }
+
+  private static final class Bucket {
+    double tokens;
+    long lastRefill;
+    int failures;     // 연속 실패 횟수
+    long lastFailure; // 마지막 실패 시각 (epoch millis)
+    long lockedUntil; // 잠금 해제 시각 (epoch millis)
+
+    Bucket(double tokens, long now) {
+      this.tokens = tokens;
+      this.lastRefill = now;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.ab108.auth.repository;
+
+import com.ab108.auth.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+  RefreshToken findByTokenHash(String tokenHash);
+
+  /**
+   * 아직 교체되지 않은 토큰만 교체 처리 (동시에 같은 토큰으로 갱신하면 한 요청만 1 을 받는다)
+   * @return 갱신된 행 수
+   */
+  @Modifying
+  @Query("UPDATE RefreshToken t SET t.rotatedAt = :now " +
+    "WHERE t.id = :id AND t.rotatedAt IS NULL AND t.revoked = false")
+  int markRotated(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+  int revokeFamily(@Param("familyId") String familyId);
+
+  @Modifying
+  @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId")
+  int revokeAllByUserId(@Param("userId") Long userId);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,49 @@
+package com.ab108.auth.repository;
+
+import com.ab108.auth.dto.UserLogDailyCountResponse;
+import com.ab108.auth.entity.UserLogDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserLogDailyCountRepository extends JpaRepository<UserLogDailyCount, Long> {
+
+  /**
+   * (사용자, 날짜, 로그 타입) 집계 행이 있으면 건수를 더하고, 없으면 새로 만든다 (한 문장으로 처리하는 upsert)
+   * 같은 행을 동시에 처음 만드는 다른 writer 와 겹치면 유니크 제약 위반이 날 수 있으므로 호출하는 쪽에서 다시 시도한다.
+   * H2 전용 native 쿼리다 (MERGE ... USING 과 NEXT VALUE FOR 시퀀스 문법). 다른 DB 로 옮기면 그 방언의 upsert 로 바꿔야 한다
+   * (PostgreSQL: INSERT ... ON CONFLICT DO UPDATE, MySQL: INSERT ... ON DUPLICATE KEY UPDATE).
+   * @return 반영된 행 수
+   */
+  @Modifying
+  @Query(value = "MERGE INTO user_log_daily_counts c " +
+    "USING (SELECT CAST(:userId AS BIGINT) AS user_id, CAST(:logDate AS DATE) AS log_date, " +
+    "CAST(:logType AS VARCHAR(255)) AS log_type, CAST(:delta AS BIGINT) AS delta) s " +
+    "ON c.user_id = s.user_id AND c.log_date = s.log_date AND c.log_type = s.log_type " +
+    "WHEN MATCHED THEN UPDATE SET count = c.count + s.delta " +
+    "WHEN NOT MATCHED THEN INSERT (id, user_id, log_date, log_type, count) " +
+    "VALUES (NEXT VALUE FOR user_log_daily_counts_seq, s.user_id, s.log_date, s.log_type, s.delta)",
+    nativeQuery = true)
+  int upsert(@Param("userId") Long userId,
+             @Param("logDate") LocalDate logDate,
+             @Param("logType") String logType,
+             @Param("delta") long delta);
+
+  @Query("SELECT new com.ab108.auth.dto.UserLogDailyCountResponse(c.logDate, c.logType, c.count) " +
+    "FROM UserLogDailyCount c WHERE c.userId = :userId " +
+    "AND c.logDate BETWEEN :startDate AND :endDate " +
+    "ORDER BY c.logDate, c.logType")
+  List<UserLogDailyCountResponse> findDailyCounts(@Param("userId") Long userId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+  @Modifying
+  @Query("DELETE FROM UserLogDailyCount c WHERE c.logDate < :cutoff")
+  int deleteOlderThan(@Param("cutoff") LocalDate cutoff);
+}
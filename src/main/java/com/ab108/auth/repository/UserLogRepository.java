@@ -1,25 +1,27 @@
 package com.ab108.auth.repository;
 
 import com.ab108.auth.entity.UserLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 
 @Repository
-public interface UserLogRepository extends JpaRepository<UserLog, Long> {
+public interface UserLogRepository extends JpaRepository<UserLog, Long>, UserLogRepositoryCustom {
 
-  @Query("SELECT l FROM UserLog l WHERE l.user.id = :userId " +
-    "AND (:startDate IS NULL OR l.timestamp >= :startDate) " +
-    "AND (:endDate IS NULL OR l.timestamp <= :endDate) " +
-    "AND (:logType IS NULL OR l.logType = :logType)")
-  Page<UserLog> findLogsByFilters(@Param("userId") Long userId,
-                                  @Param("startDate") LocalDateTime startDate,
-                                  @Param("endDate") LocalDateTime endDate,
-                                  @Param("logType") String logType,
-                                  Pageable pageable);
+  @Query("SELECT MIN(l.logDate) FROM UserLog l")
+  LocalDate findOldestLogDate();
+
+  /**
+   * 하루치 로그 삭제 (보존 기간 정리용)
+   * 파티션 drop 이 아니라 idx_user_logs_log_date 를 타는 행 단위 DELETE 이므로, 하루치 행 수에 비례해 시간이 걸리고
+   * undo / WAL 을 그만큼 쓴다. 테이블이 커지면 log_date 기준 RANGE 파티셔닝으로 옮겨 DROP PARTITION 으로 바꿔야 한다.
+   * @return 삭제된 행 수
+   */
+  @Modifying
+  @Query("DELETE FROM UserLog l WHERE l.logDate = :logDate")
+  int deleteByLogDate(@Param("logDate") LocalDate logDate);
 }
@@ -0,0 +1,34 @@
+package com.ab108.auth.repository;
+
+import com.ab108.auth.dto.LogCursor;
+import com.ab108.auth.dto.UserLogResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface UserLogRepositoryCustom {
+
+  /**
+   * 조건에 맞는 로그를 페이지 단위로 조회. 기간 조건이 있으면 해당 파티션(log_date) 범위로 한정한다.
+   * 값이 주어진 조건만 WHERE 절에 포함되며, 엔티티 대신 UserLogResponse 로 바로 조회한다.
+   */
+  Page<UserLogResponse> findLogsByFilters(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                          String logType, Pageable pageable);
+
+  /**
+   * (timestamp, id) 내림차순 keyset 조회. COUNT 쿼리 없이 size + 1 건만 읽어 다음 페이지 여부를 판단한다.
+   * 값이 주어진 조건만 WHERE 절에 포함되며, 엔티티 대신 UserLogResponse 로 바로 조회한다.
+   */
+  Slice<UserLogResponse> findLogsByCursor(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                  String logType, LogCursor cursor, int size);
+
+  /**
+   * 조건에 맞는 로그를 (timestamp, id) 오름차순으로 forward-only 커서를 통해 한 행씩 읽는다.
+   * 엔티티를 만들지 않고 UserLogResponse 로 바로 읽으므로 결과 건수와 관계없이 힙 사용량이 일정하다.
+   * 트랜잭션 안에서 호출하고, 사용 후 반드시 Stream 을 닫아야 한다.
+   */
+  Stream<UserLogResponse> streamLogs(Long userId, LocalDateTime startDate, LocalDateTime endDate, String logType);
+}
@@ -0,0 +1,145 @@
+package com.ab108.auth.repository;
+
+import com.ab108.auth.dto.LogCursor;
+import com.ab108.auth.dto.UserLogResponse;
+import com.ab108.auth.entity.UserLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class UserLogRepositoryCustomImpl implements UserLogRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${audit.export.fetch-size:1000}")
+  private int exportFetchSize;
+
+  @Override
+  public Page<UserLogResponse> findLogsByFilters(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                 String logType, Pageable pageable) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<UserLogResponse> query = cb.createQuery(UserLogResponse.class);
+    Root<UserLog> log = query.from(UserLog.class);
+    query.select(projection(cb, log))
+      .where(filterPredicates(cb, log, userId, startDate, endDate, logType).toArray(new Predicate[0]))
+      .orderBy(QueryUtils.toOrders(pageable.getSort(), log, cb));
+
+    TypedQuery<UserLogResponse> contentQuery = entityManager.createQuery(query)
+      .setHint(HibernateHints.HINT_READ_ONLY, true);
+    if (pageable.isPaged()) {
+      contentQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+    }
+    List<UserLogResponse> content = contentQuery.getResultList();
+
+    // COUNT 쿼리도 같은 조건으로 만들어 파티션 범위만 읽음 (마지막 페이지가 분명하면 생략)
+    CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+    Root<UserLog> countRoot = countQuery.from(UserLog.class);
+    countQuery.select(cb.count(countRoot))
+      .where(filterPredicates(cb, countRoot, userId, startDate, endDate, logType).toArray(new Predicate[0]));
+    return PageableExecutionUtils.getPage(content, pageable, () -> entityManager.createQuery(countQuery).getSingleResult());
+  }
+
+  @Override
+  public Slice<UserLogResponse> findLogsByCursor(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                 String logType, LogCursor cursor, int size) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<UserLogResponse> query = cb.createQuery(UserLogResponse.class);
+    Root<UserLog> log = query.from(UserLog.class);
+    Path<LocalDateTime> timestamp = log.get("timestamp");
+    Path<Long> id = log.get("id");
+
+    List<Predicate> predicates = filterPredicates(cb, log, userId, startDate, endDate, logType);
+    if (cursor != null) {
+      // (timestamp, id) < (cursor.timestamp, cursor.id)
+      // OR 만으로는 옵티마이저가 timestamp 범위 스캔을 못 쓸 수 있으므로 중복이지만 sargable 한 상한을 함께 건다
+      predicates.add(cb.lessThanOrEqualTo(timestamp, cursor.getTimestamp()));
+      predicates.add(cb.or(
+        cb.lessThan(timestamp, cursor.getTimestamp()),
+        cb.and(cb.equal(timestamp, cursor.getTimestamp()), cb.lessThan(id, cursor.getId()))
+      ));
+    }
+
+    query.select(projection(cb, log))
+      .where(predicates.toArray(new Predicate[0]))
+      .orderBy(cb.desc(timestamp), cb.desc(id));
+
+    List<UserLogResponse> rows = entityManager.createQuery(query)
+      .setMaxResults(size + 1)
+      .getResultList();
+
+    boolean hasNext = rows.size() > size;
+    List<UserLogResponse> content = hasNext ? rows.subList(0, size) : rows;
+    return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+  }
+
+  @Override
+  public Stream<UserLogResponse> streamLogs(Long userId, LocalDateTime startDate, LocalDateTime endDate, String logType) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<UserLogResponse> query = cb.createQuery(UserLogResponse.class);
+    Root<UserLog> log = query.from(UserLog.class);
+
+    query.select(projection(cb, log))
+      .where(filterPredicates(cb, log, userId, startDate, endDate, logType).toArray(new Predicate[0]))
+      .orderBy(cb.asc(log.get("timestamp")), cb.asc(log.get("id")));
+
+    // getResultStream 은 forward-only ScrollableResults 위에서 동작하며, fetch size 만큼씩 드라이버가 가져온다
+    // DTO 로 바로 조회하므로 영속성 컨텍스트에 엔티티가 쌓이지 않음
+    return entityManager.createQuery(query)
+      .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+      .setHint(HibernateHints.HINT_READ_ONLY, true)
+      .getResultStream();
+  }
+
+  /**
+   * 응답에 필요한 id, logType, timestamp, message 만 조회하는 생성자 projection
+   */
+  private CompoundSelection<UserLogResponse> projection(CriteriaBuilder cb, Root<UserLog> log) {
+    return cb.construct(UserLogResponse.class,
+      log.get("id"), log.get("logType"), log.get("timestamp"), log.get("message"));
+  }
+
+  /**
+   * 값이 주어진 조건만 Predicate 로 만든다. (:x IS NULL OR ...) 형태를 피해 인덱스를 사용할 수 있게 함
+   */
+  private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<UserLog> log, Long userId,
+                                           LocalDateTime startDate, LocalDateTime endDate, String logType) {
+    Path<LocalDateTime> timestamp = log.get("timestamp");
+
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(log.get("user").get("id"), userId));
+    // 기간 조건은 log_date 에도 걸어 idx_user_logs_log_date 로 범위를 좁힐 수 있게 함
+    if (startDate != null) {
+      predicates.add(cb.greaterThanOrEqualTo(log.get("logDate"), UserLog.logDateOf(startDate)));
+      predicates.add(cb.greaterThanOrEqualTo(timestamp, startDate));
+    }
+    if (endDate != null) {
+      predicates.add(cb.lessThanOrEqualTo(log.get("logDate"), UserLog.logDateOf(endDate)));
+      predicates.add(cb.lessThanOrEqualTo(timestamp, endDate));
+    }
+    if (logType != null) {
+      predicates.add(cb.equal(log.get("logType"), logType));
+    }
+    return predicates;
+  }
+}
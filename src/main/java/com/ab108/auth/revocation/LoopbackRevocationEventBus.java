@@ -0,0 +1,36 @@
+package com.ab108.auth.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 안의 구독자에게 바로 전달하는 버스 (단일 노드 및 테스트용)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "revocation.bus.type", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackRevocationEventBus implements RevocationEventBus {
+
+  private final List<Consumer<byte[]>> subscribers = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(byte[] payload) {
+    for (Consumer<byte[]> subscriber : subscribers) {
+      try {
+        subscriber.accept(payload);
+      } catch (RuntimeException e) {
+        log.error("Failed to deliver revocation batch", e);
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<byte[]> subscriber) {
+    subscribers.add(subscriber);
+  }
+}
@@ -0,0 +1,381 @@
+package com.ab108.auth.revocation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 맵 append-only 로그 + 주기적 스냅샷 기반 폐기 저장소.
+ * <pre>
+ * snapshot.bin            : generation(8) + 살아 있는 이벤트 묶음 (RevocationEventCodec)
+ * revocations-{gen}.log   : [length(4) crc32(4) 묶음] 레코드의 연속, length 0 이면 끝
+ * </pre>
+ * append 는 큐에 넣기만 하고, 전용 writer 스레드가 쌓인 이벤트를 하나의 레코드로 기록한 뒤 force 한다 (group commit).
+ * 기록에 실패한 묶음은 버리지 않고 보관했다가 점점 긴 간격으로 다시 기록한다.
+ * 스냅샷은 로그를 새 세대로 넘긴 뒤 작성하므로, 재시작 시에는 스냅샷과 그 세대 이후의 로그만 읽는다.
+ * 시작 시 마지막 세대가 온전히 끝나 있고 절반 이상 비어 있으면 새 세대를 만들지 않고 그 끝에 이어서 기록한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "revocation.store.enabled", havingValue = "true", matchIfMissing = true)
+public class MappedRevocationStore implements RevocationStore {
+
+  private static final String SNAPSHOT_FILE = "snapshot.bin";
+  private static final String LOG_PREFIX = "revocations-";
+  private static final String LOG_SUFFIX = ".log";
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final int MAX_GROUP_SIZE = 4096;
+  private static final long MIN_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+  private final Path directory;
+  private final int segmentSize;
+
+  private final ConcurrentLinkedQueue<RevocationEvent> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingCount = new AtomicInteger();
+
+  // 아래 필드는 this 로 동기화 (writer 스레드와 compact 사이)
+  private long generation;
+  private FileChannel channel;
+  private MappedByteBuffer segment;
+  private List<RevocationEvent> retry; // 기록하지 못한 묶음 (pendingCount 에 포함된 채로 유지)
+  private long resumedGeneration = -1; // 시작 시 이어서 쓰기로 한 세대
+  private int resumedLength;           // 그 세대에서 재생할 기존 레코드 길이
+
+  private volatile boolean running;
+  private Thread writer;
+
+  public MappedRevocationStore(
+    @Value("${revocation.store.path:./data/revocation}") String directory,
+    @Value("${revocation.store.segment-size:16777216}") int segmentSize
+  ) {
+    this.directory = Paths.get(directory);
+    this.segmentSize = segmentSize;
+  }
+
+  @PostConstruct
+  public synchronized void open() {
+    try {
+      Files.createDirectories(directory);
+      TreeMap<Long, Path> logs = logFiles();
+      long lastGeneration = Math.max(readSnapshotGeneration(), logs.isEmpty() ? 0L : logs.lastKey());
+      if (!resumeSegment(lastGeneration, logs.get(lastGeneration))) {
+        openSegment(lastGeneration + 1); // 이전 실행의 로그는 읽기 전용으로 두고 새 세대에 기록
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open revocation store " + directory, e);
+    }
+
+    running = true;
+    writer = new Thread(this::writeLoop, "revocation-store-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @PreDestroy
+  public void close() throws InterruptedException {
+    running = false;
+    if (writer != null) {
+      LockSupport.unpark(writer);
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    synchronized (this) {
+      try {
+        // 남은 이벤트 기록 (한 번에 MAX_GROUP_SIZE 개까지만 꺼내므로 빌 때까지 반복)
+        while (pendingCount.get() > 0) {
+          if (writeGroup() == 0) {
+            break;
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        log.error("Failed to persist {} revocation events on shutdown", pendingCount.get(), e);
+      }
+      closeSegment();
+    }
+  }
+
+  @Override
+  public void append(RevocationEvent event) {
+    pending.add(event);
+    if (pendingCount.incrementAndGet() == 1) {
+      LockSupport.unpark(writer);
+    }
+  }
+
+  @Override
+  public void replay(Consumer<RevocationEvent> consumer) {
+    try {
+      long snapshotGeneration = 0;
+      Path snapshot = directory.resolve(SNAPSHOT_FILE);
+      if (Files.exists(snapshot)) {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+        snapshotGeneration = buffer.getLong();
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        RevocationEventCodec.decode(payload).getEvents().forEach(consumer);
+      }
+
+      long currentGeneration;
+      synchronized (this) {
+        currentGeneration = generation;
+      }
+      for (var entry : logFiles().entrySet()) {
+        long logGeneration = entry.getKey();
+        if (logGeneration < snapshotGeneration) {
+          continue;
+        }
+        if (logGeneration < currentGeneration) {
+          replayLog(entry.getValue(), Integer.MAX_VALUE, consumer);
+        } else if (logGeneration == resumedGeneration) {
+          replayLog(entry.getValue(), resumedLength, consumer); // 이어 쓰는 세대는 시작 전에 있던 레코드까지만
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to replay revocation store " + directory, e);
+    }
+  }
+
+  @Override
+  public void compact(Supplier<List<RevocationEvent>> liveState) {
+    long snapshotGeneration;
+    synchronized (this) {
+      snapshotGeneration = generation + 1;
+      try {
+        writeGroup();
+        closeSegment();
+        openSegment(snapshotGeneration);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to rotate revocation log", e);
+      }
+    }
+
+    // 로그를 넘긴 뒤의 상태를 스냅샷으로 기록 (이후 이벤트는 새 세대 로그에 남는다)
+    try {
+      byte[] payload = RevocationEventCodec.encode(new RevocationBatch(0L, System.currentTimeMillis(), liveState.get()));
+      ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+      buffer.putLong(snapshotGeneration).put(payload);
+
+      Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+      try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          out.write(buffer);
+        }
+        out.force(true);
+      }
+      Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      for (var entry : logFiles().entrySet()) {
+        if (entry.getKey() < snapshotGeneration) {
+          Files.deleteIfExists(entry.getValue());
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to write revocation snapshot", e);
+    }
+  }
+
+  private void writeLoop() {
+    long retryNanos = 0;
+    while (running) {
+      if (pendingCount.get() == 0) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        continue;
+      }
+      try {
+        synchronized (this) {
+          writeGroup();
+        }
+        retryNanos = 0;
+      } catch (IOException | RuntimeException e) {
+        // 세그먼트를 열거나 넘기지 못하는 동안 바쁜 대기를 하지 않도록 점점 길게 쉰다 (묶음은 retry 에 남아 있음)
+        retryNanos = (retryNanos == 0) ? MIN_RETRY_NANOS : Math.min(retryNanos * 2, MAX_RETRY_NANOS);
+        log.error("Failed to append {} revocation events, retrying in {} ms",
+          pendingCount.get(), TimeUnit.NANOSECONDS.toMillis(retryNanos), e);
+        LockSupport.parkNanos(retryNanos);
+      }
+    }
+  }
+
+  // 대기 중인 이벤트를 하나의 레코드로 기록하고 force (this 잠금 상태에서 호출)
+  // 실패하면 묶음을 retry 에 보관하고 예외를 던지며, 다음 호출에서 같은 묶음부터 다시 기록한다
+  // 기록한 이벤트 수를 반환 (대기 중인 이벤트가 없으면 0)
+  private int writeGroup() throws IOException {
+    List<RevocationEvent> group = retry;
+    retry = null;
+    if (group == null) {
+      group = pollGroup();
+      if (group.isEmpty()) {
+        return 0;
+      }
+    }
+
+    try {
+      byte[] payload = RevocationEventCodec.encode(new RevocationBatch(0L, System.currentTimeMillis(), group));
+      if (segment == null) {
+        openSegment(generation + 1); // 이전 교체가 실패해 열린 세그먼트가 없음
+      } else if (RECORD_HEADER_SIZE + payload.length + 4 > segment.remaining()) {
+        closeSegment();
+        openSegment(generation + 1);
+      }
+
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      segment.putInt(payload.length);
+      segment.putInt((int) crc.getValue());
+      segment.put(payload);
+      segment.force();
+    } catch (IOException | RuntimeException e) {
+      retry = group;
+      throw e;
+    }
+    pendingCount.addAndGet(-group.size()); // 기록을 마친 뒤에만 차감
+    return group.size();
+  }
+
+  // 빈 세그먼트 하나에 들어가는 크기까지만 꺼낸다 (너무 큰 묶음이 교체를 반복하며 재시도되지 않도록)
+  private List<RevocationEvent> pollGroup() {
+    int maxPayload = segmentSize - RECORD_HEADER_SIZE - 4;
+    int payloadSize = RevocationEventCodec.HEADER_SIZE;
+    List<RevocationEvent> group = new ArrayList<>();
+    RevocationEvent event;
+    while (group.size() < MAX_GROUP_SIZE && (event = pending.peek()) != null) {
+      payloadSize += RevocationEventCodec.sizeOf(event);
+      if (payloadSize > maxPayload && !group.isEmpty()) {
+        break;
+      }
+      group.add(pending.poll());
+    }
+    return group;
+  }
+
+  private void replayLog(Path file, int limit, Consumer<RevocationEvent> consumer) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    buffer.limit(Math.min(limit, buffer.capacity()));
+    readRecords(buffer, file, consumer);
+  }
+
+  // 온전한 레코드를 차례로 읽어 consumer 에 넘기고 (null 이면 검사만), 마지막 온전한 레코드의 끝 위치를 반환
+  private int readRecords(ByteBuffer buffer, Path file, Consumer<RevocationEvent> consumer) {
+    int end = buffer.position();
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      int length = buffer.getInt();
+      int checksum = buffer.getInt();
+      if (length <= 0 || length > buffer.remaining()) {
+        break; // 로그 끝
+      }
+      byte[] payload = new byte[length];
+      buffer.get(payload);
+
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      if ((int) crc.getValue() != checksum) {
+        log.warn("Torn revocation log record in {}, stopping replay of this segment", file.getFileName());
+        break;
+      }
+      if (consumer != null) {
+        RevocationEventCodec.decode(payload).getEvents().forEach(consumer);
+      }
+      end = buffer.position();
+    }
+    return end;
+  }
+
+  // 마지막 세대 로그가 온전히 끝나 있고 (끊긴 레코드 없음) 절반 이상 비어 있으면 그 끝에서 이어 쓴다
+  private boolean resumeSegment(long lastGeneration, Path file) throws IOException {
+    if (file == null || Files.size(file) != segmentSize) {
+      return false;
+    }
+    ByteBuffer existing = ByteBuffer.wrap(Files.readAllBytes(file));
+    int end = readRecords(existing, file, null);
+    if (end > segmentSize / 2 || existing.getInt(end) != 0) {
+      return false;
+    }
+
+    openSegment(lastGeneration);
+    segment.position(end);
+    resumedGeneration = lastGeneration;
+    resumedLength = end;
+    return true;
+  }
+
+  private void openSegment(long newGeneration) throws IOException {
+    Path file = directory.resolve(LOG_PREFIX + newGeneration + LOG_SUFFIX);
+    FileChannel newChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+      StandardOpenOption.WRITE);
+    try {
+      segment = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    } catch (IOException | RuntimeException e) {
+      newChannel.close();
+      throw e;
+    }
+    channel = newChannel;
+    generation = newGeneration;
+  }
+
+  private void closeSegment() {
+    if (segment != null) {
+      segment.force();
+      segment = null;
+    }
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        log.warn("Failed to close revocation log", e);
+      }
+      channel = null;
+    }
+  }
+
+  private long readSnapshotGeneration() throws IOException {
+    Path snapshot = directory.resolve(SNAPSHOT_FILE);
+    if (!Files.exists(snapshot)) {
+      return 0L;
+    }
+    try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(8);
+      while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+        // 세대 번호만 읽음
+      }
+      buffer.flip();
+      return buffer.remaining() == 8 ? buffer.getLong() : 0L;
+    }
+  }
+
+  private TreeMap<Long, Path> logFiles() throws IOException {
+    TreeMap<Long, Path> files = new TreeMap<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, LOG_PREFIX + "*" + LOG_SUFFIX)) {
+      for (Path file : stream) {
+        String name = file.getFileName().toString();
+        try {
+          files.put(Long.parseLong(name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length())), file);
+        } catch (NumberFormatException e) {
+          log.warn("Ignoring unexpected file {} in revocation store", name);
+        }
+      }
+    }
+    return files;
+  }
+}
@@ -0,0 +1,28 @@
+package com.ab108.auth.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 영속화를 끈 경우 사용하는 저장소 (revocation.store.enabled=false)
+ */
+@Component
+@ConditionalOnProperty(name = "revocation.store.enabled", havingValue = "false")
+public class NoOpRevocationStore implements RevocationStore {
+
+  @Override
+  public void append(RevocationEvent event) {
+  }
+
+  @Override
+  public void replay(Consumer<RevocationEvent> consumer) {
+  }
+
+  @Override
+  public void compact(Supplier<List<RevocationEvent>> liveState) {
+  }
+}
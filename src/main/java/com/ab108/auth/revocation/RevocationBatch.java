@@ -0,0 +1,22 @@
+package com.ab108.auth.revocation;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 한 번에 전송되는 폐기 이벤트 묶음
+ */
+@Getter
+public class RevocationBatch {
+
+  private final long originNodeId;
+  private final long publishedAt;
+  private final List<RevocationEvent> events;
+
+  public RevocationBatch(long originNodeId, long publishedAt, List<RevocationEvent> events) {
+    this.originNodeId = originNodeId;
+    this.publishedAt = publishedAt;
+    this.events = events;
+  }
+}
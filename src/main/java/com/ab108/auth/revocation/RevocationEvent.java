@@ -0,0 +1,57 @@
+package com.ab108.auth.revocation;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 노드 간에 전파되는 토큰 폐기 이벤트.
+ * BLACKLIST 는 jti 단위 폐기(로그아웃), EXPIRE_USER 는 사용자 단위 무효화 기준 시점 갱신이다.
+ */
+@Getter
+public class RevocationEvent {
+
+  public enum Type {
+    BLACKLIST((byte) 1),
+    EXPIRE_USER((byte) 2);
+
+    private final byte code;
+
+    Type(byte code) {
+      this.code = code;
+    }
+
+    public byte getCode() {
+      return code;
+    }
+
+    public static Type fromCode(byte code) {
+      for (Type type : values()) {
+        if (type.code == code) {
+          return type;
+        }
+      }
+      throw new IllegalArgumentException("Unknown revocation event type: " + code);
+    }
+  }
+
+  private final Type type;
+  private final UUID jti;        // BLACKLIST 전용
+  private final long userId;     // EXPIRE_USER 전용
+  private final long timestamp;  // BLACKLIST: 토큰 만료 시각, EXPIRE_USER: 무효화 기준 시점
+
+  private RevocationEvent(Type type, UUID jti, long userId, long timestamp) {
+    this.type = type;
+    this.jti = jti;
+    this.userId = userId;
+    this.timestamp = timestamp;
+  }
+
+  public static RevocationEvent blacklist(UUID jti, long expirationTime) {
+    return new RevocationEvent(Type.BLACKLIST, jti, 0L, expirationTime);
+  }
+
+  public static RevocationEvent expireUser(long userId, long invalidateTimestamp) {
+    return new RevocationEvent(Type.EXPIRE_USER, null, userId, invalidateTimestamp);
+  }
+}
@@ -0,0 +1,79 @@
+package com.ab108.auth.revocation;
+
+import com.ab108.auth.utils.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 다른 노드에서 전송된 폐기 이벤트를 로컬 JwtUtil 상태에 반영하고 전파 지연을 기록한다.
+ */
+@Slf4j
+@Component
+public class RevocationEventApplier {
+
+  private final RevocationEventBus bus;
+  private final RevocationPublisher publisher;
+  private final JwtUtil jwtUtil;
+
+  private final LongAdder appliedBatches = new LongAdder();
+  private final LongAdder appliedEvents = new LongAdder();
+  private final LongAdder totalLagMillis = new LongAdder();
+  private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0L);
+  private volatile long lastLagMillis;
+
+  public RevocationEventApplier(RevocationEventBus bus, RevocationPublisher publisher, JwtUtil jwtUtil) {
+    this.bus = bus;
+    this.publisher = publisher;
+    this.jwtUtil = jwtUtil;
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    bus.subscribe(this::onBatch);
+  }
+
+  void onBatch(byte[] payload) {
+    RevocationBatch batch;
+    try {
+      batch = RevocationEventCodec.decode(payload);
+    } catch (RuntimeException e) {
+      log.warn("Dropping malformed revocation batch ({} bytes)", payload.length);
+      return;
+    }
+    if (batch.getOriginNodeId() == publisher.getNodeId()) {
+      return; // 로컬 이벤트는 이미 반영됨
+    }
+
+    for (RevocationEvent event : batch.getEvents()) {
+      jwtUtil.applyRevocation(event);
+    }
+
+    long lag = Math.max(0L, System.currentTimeMillis() - batch.getPublishedAt());
+    lastLagMillis = lag;
+    maxLagMillis.accumulate(lag);
+    totalLagMillis.add(lag);
+    appliedBatches.increment();
+    appliedEvents.add(batch.getEvents().size());
+  }
+
+  public long getLastLagMillis() {
+    return lastLagMillis;
+  }
+
+  public long getMaxLagMillis() {
+    return maxLagMillis.get();
+  }
+
+  public double getAverageLagMillis() {
+    long batches = appliedBatches.sum();
+    return batches == 0 ? 0.0 : (double) totalLagMillis.sum() / batches;
+  }
+
+  public long getAppliedEventCount() {
+    return appliedEvents.sum();
+  }
+}
@@ -0,0 +1,14 @@
+package com.ab108.auth.revocation;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 폐기 이벤트 전송 수단.
+ * 구현체는 인코딩된 묶음을 자신을 포함한 모든 구독자에게 전달한다.
+ */
+public interface RevocationEventBus {
+
+  void publish(byte[] payload);
+
+  void subscribe(Consumer<byte[]> subscriber);
+}
@@ -0,0 +1,93 @@
+package com.ab108.auth.revocation;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 폐기 이벤트 묶음의 바이너리 포맷.
+ * <pre>
+ * header : magic(2) version(1) originNodeId(8) publishedAt(8) count(4)
+ * event  : type(1) + BLACKLIST  -> jtiMsb(8) jtiLsb(8) expirationTime(8)
+ *                  + EXPIRE_USER -> userId(8) invalidateTimestamp(8)
+ * </pre>
+ */
+public final class RevocationEventCodec {
+
+  private static final short MAGIC = 0x5256; // "RV"
+  private static final byte VERSION = 1;
+  static final int HEADER_SIZE = 2 + 1 + 8 + 8 + 4;
+  private static final int MIN_EVENT_SIZE = 1 + 16; // EXPIRE_USER
+
+  private RevocationEventCodec() {
+  }
+
+  public static byte[] encode(RevocationBatch batch) {
+    int size = HEADER_SIZE;
+    for (RevocationEvent event : batch.getEvents()) {
+      size += sizeOf(event);
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putShort(MAGIC);
+    buffer.put(VERSION);
+    buffer.putLong(batch.getOriginNodeId());
+    buffer.putLong(batch.getPublishedAt());
+    buffer.putInt(batch.getEvents().size());
+    for (RevocationEvent event : batch.getEvents()) {
+      writeEvent(buffer, event);
+    }
+    return buffer.array();
+  }
+
+  public static RevocationBatch decode(byte[] payload) {
+    ByteBuffer buffer = ByteBuffer.wrap(payload);
+    if (buffer.remaining() < HEADER_SIZE || buffer.getShort() != MAGIC || buffer.get() != VERSION) {
+      throw new IllegalArgumentException("Invalid revocation batch");
+    }
+    long originNodeId = buffer.getLong();
+    long publishedAt = buffer.getLong();
+    int count = buffer.getInt();
+    // 건수는 수신한 값 그대로이므로, 남은 바이트로 담을 수 없는 건수면 목록을 할당하기 전에 거절 (손상되거나 조작된 묶음)
+    if (count < 0 || count > buffer.remaining() / MIN_EVENT_SIZE) {
+      throw new IllegalArgumentException("Invalid revocation batch event count: " + count);
+    }
+
+    List<RevocationEvent> events = new ArrayList<>(count);
+    try {
+      for (int i = 0; i < count; i++) {
+        events.add(readEvent(buffer));
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated revocation batch");
+    }
+    return new RevocationBatch(originNodeId, publishedAt, events);
+  }
+
+  static int sizeOf(RevocationEvent event) {
+    return event.getType() == RevocationEvent.Type.BLACKLIST ? 1 + 24 : 1 + 16;
+  }
+
+  static void writeEvent(ByteBuffer buffer, RevocationEvent event) {
+    buffer.put(event.getType().getCode());
+    if (event.getType() == RevocationEvent.Type.BLACKLIST) {
+      buffer.putLong(event.getJti().getMostSignificantBits());
+      buffer.putLong(event.getJti().getLeastSignificantBits());
+    } else {
+      buffer.putLong(event.getUserId());
+    }
+    buffer.putLong(event.getTimestamp());
+  }
+
+  static RevocationEvent readEvent(ByteBuffer buffer) {
+    RevocationEvent.Type type = RevocationEvent.Type.fromCode(buffer.get());
+    if (type == RevocationEvent.Type.BLACKLIST) {
+      UUID jti = new UUID(buffer.getLong(), buffer.getLong());
+      return RevocationEvent.blacklist(jti, buffer.getLong());
+    }
+    long userId = buffer.getLong();
+    return RevocationEvent.expireUser(userId, buffer.getLong());
+  }
+}
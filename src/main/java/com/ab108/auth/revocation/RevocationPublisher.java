@@ -0,0 +1,89 @@
+package com.ab108.auth.revocation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 로컬에서 발생한 폐기 이벤트를 모아 주기적으로 버스에 전송한다.
+ * 같은 사용자의 EXPIRE_USER 는 가장 늦은 기준 시점 하나로, 같은 jti 의 BLACKLIST 는 하나로 합친다.
+ */
+@Component
+public class RevocationPublisher {
+
+  private final RevocationEventBus bus;
+  private final int maxBatchSize;
+  private final long nodeId = new SecureRandom().nextLong();
+
+  // 전송 대기 이벤트 (this 로 동기화)
+  private Map<Long, Long> pendingUserExpiries = new HashMap<>();
+  private Map<UUID, Long> pendingBlacklist = new HashMap<>();
+
+  public RevocationPublisher(
+    RevocationEventBus bus,
+    @Value("${revocation.bus.max-batch-size:512}") int maxBatchSize
+  ) {
+    this.bus = bus;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public void publishBlacklist(UUID jti, long expirationTime) {
+    boolean full;
+    synchronized (this) {
+      pendingBlacklist.put(jti, expirationTime);
+      full = pendingSize() >= maxBatchSize;
+    }
+    if (full) {
+      flush();
+    }
+  }
+
+  public void publishUserExpiry(long userId, long invalidateTimestamp) {
+    boolean full;
+    synchronized (this) {
+      pendingUserExpiries.merge(userId, invalidateTimestamp, Math::max);
+      full = pendingSize() >= maxBatchSize;
+    }
+    if (full) {
+      flush();
+    }
+  }
+
+  /**
+   * 대기 중인 이벤트를 하나의 묶음으로 전송
+   */
+  @Scheduled(fixedDelayString = "${revocation.bus.flush-interval:50}")
+  public void flush() {
+    Map<Long, Long> userExpiries;
+    Map<UUID, Long> blacklist;
+    synchronized (this) {
+      if (pendingSize() == 0) {
+        return;
+      }
+      userExpiries = pendingUserExpiries;
+      blacklist = pendingBlacklist;
+      pendingUserExpiries = new HashMap<>();
+      pendingBlacklist = new HashMap<>();
+    }
+
+    List<RevocationEvent> events = new ArrayList<>(userExpiries.size() + blacklist.size());
+    userExpiries.forEach((userId, timestamp) -> events.add(RevocationEvent.expireUser(userId, timestamp)));
+    blacklist.forEach((jti, expirationTime) -> events.add(RevocationEvent.blacklist(jti, expirationTime)));
+    bus.publish(RevocationEventCodec.encode(new RevocationBatch(nodeId, System.currentTimeMillis(), events)));
+  }
+
+  public long getNodeId() {
+    return nodeId;
+  }
+
+  private int pendingSize() {
+    return pendingUserExpiries.size() + pendingBlacklist.size();
+  }
+}
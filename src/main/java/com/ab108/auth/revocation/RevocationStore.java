@@ -0,0 +1,29 @@
+package com.ab108.auth.revocation;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 재시작 후에도 폐기 상태를 복구하기 위한 저장소
+ */
+public interface RevocationStore {
+
+  /**
+   * 폐기 이벤트 기록 (호출 스레드를 막지 않으며 묶음 단위로 디스크에 반영된다)
+   * @param event 폐기 이벤트
+   */
+  void append(RevocationEvent event);
+
+  /**
+   * 마지막 스냅샷과 그 이후 로그를 순서대로 재생
+   * @param consumer 이벤트 소비자
+   */
+  void replay(Consumer<RevocationEvent> consumer);
+
+  /**
+   * 현재 살아 있는 폐기 상태로 스냅샷을 만들고 이전 로그를 정리
+   * @param liveState 살아 있는 폐기 이벤트 목록 공급자
+   */
+  void compact(Supplier<List<RevocationEvent>> liveState);
+}
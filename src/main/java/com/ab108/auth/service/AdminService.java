@@ -1,37 +1,103 @@
 package com.ab108.auth.service;
 
+import com.ab108.auth.cache.UserPrincipalCache;
+import com.ab108.auth.dto.LogCursor;
+import com.ab108.auth.dto.UserLogDailyCountResponse;
 import com.ab108.auth.dto.UserLogResponse;
-import com.ab108.auth.entity.UserLog;
+import com.ab108.auth.dto.UserLogSliceResponse;
+import com.ab108.auth.repository.UserLogDailyCountRepository;
 import com.ab108.auth.repository.UserLogRepository;
 import com.ab108.auth.utils.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
   private final UserLogRepository userLogRepository;
+  private final UserLogDailyCountRepository dailyCountRepository;
   private final JwtUtil jwtUtil;
+  private final UserPrincipalCache userPrincipalCache;
+  private final RefreshTokenService refreshTokenService;
 
+  @Transactional(readOnly = true)
   public Page<UserLogResponse> getUserLogs(Long userId, LocalDateTime startDate, LocalDateTime endDate, String logType, Pageable pageable) {
-    Page<UserLog> logs = userLogRepository.findLogsByFilters(userId, startDate, endDate, logType, pageable);
-    return logs.map(log -> new UserLogResponse(
-      log.getId(),
-      log.getLogType(),
-      log.getTimestamp(),
-      log.getMessage()
-    ));
+    return userLogRepository.findLogsByFilters(userId, startDate, endDate, logType, pageable);
+  }
+
+  @Transactional(readOnly = true)
+  public UserLogSliceResponse getUserLogsByCursor(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                  String logType, String cursor, int size) {
+    LogCursor after = (cursor != null) ? LogCursor.decode(cursor) : null;
+    Slice<UserLogResponse> logs = userLogRepository.findLogsByCursor(userId, startDate, endDate, logType, after, size);
+
+    List<UserLogResponse> content = logs.getContent();
+
+    String nextCursor = null;
+    if (logs.hasNext()) {
+      UserLogResponse last = content.get(content.size() - 1);
+      nextCursor = new LogCursor(last.getTimestamp(), last.getId()).encode();
+    }
+    return new UserLogSliceResponse(content, nextCursor, logs.hasNext());
+  }
+
+  /**
+   * 사용자 감사 로그 전체를 지정한 형식으로 출력 스트림에 바로 기록
+   * 결과를 메모리에 모으지 않고 커서로 한 행씩 읽어 쓰므로 건수와 관계없이 힙 사용량이 일정하다.
+   * @param out 응답 출력 스트림 (닫지 않음)
+   * @return 기록한 행 수
+   */
+  @Transactional(readOnly = true)
+  public long exportUserLogs(Long userId, LocalDateTime startDate, LocalDateTime endDate, String logType,
+                             LogExportFormat format, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    long rows = 0;
+    format.writeHeader(writer);
+    try (Stream<UserLogResponse> logs = userLogRepository.streamLogs(userId, startDate, endDate, logType)) {
+      Iterator<UserLogResponse> iterator = logs.iterator();
+      while (iterator.hasNext()) {
+        format.writeRow(writer, iterator.next());
+        rows++;
+      }
+    }
+    writer.flush();
+    return rows;
+  }
+
+  /**
+   * 사용자별, 로그 타입별 일일 건수 조회 (미리 집계된 값을 그대로 반환)
+   */
+  @Transactional(readOnly = true)
+  public List<UserLogDailyCountResponse> getDailyCounts(Long userId, LocalDate startDate, LocalDate endDate) {
+    if (startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("startDate must not be after endDate");
+    }
+    return dailyCountRepository.findDailyCounts(userId, startDate, endDate);
   }
 
   public void expireUserTokens(Long userId) {
     // 현재 시점을 무효화 기준 시점으로 설정
     jwtUtil.expireUserTokens(userId);
+    refreshTokenService.revokeAll(userId);
+    userPrincipalCache.invalidateUser(userId);
   }
 }
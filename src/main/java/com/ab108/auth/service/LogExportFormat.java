@@ -0,0 +1,126 @@
+package com.ab108.auth.service;
+
+import com.ab108.auth.dto.UserLogResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 감사 로그 내보내기 형식. 한 행씩 바로 출력 스트림에 기록한다.
+ */
+public enum LogExportFormat {
+
+  NDJSON("application/x-ndjson", "ndjson") {
+    @Override
+    public void writeHeader(Writer writer) {
+      // NDJSON 은 헤더 없음
+    }
+
+    @Override
+    public void writeRow(Writer writer, UserLogResponse log) throws IOException {
+      writer.write("{\"id\":");
+      writer.write(String.valueOf(log.getId()));
+      writer.write(",\"logType\":");
+      writeJsonString(writer, log.getLogType());
+      writer.write(",\"timestamp\":");
+      writeJsonString(writer, String.valueOf(log.getTimestamp()));
+      writer.write(",\"message\":");
+      writeJsonString(writer, log.getMessage());
+      writer.write("}\n");
+    }
+  },
+
+  CSV("text/csv", "csv") {
+    @Override
+    public void writeHeader(Writer writer) throws IOException {
+      writer.write("id,logType,timestamp,message\n");
+    }
+
+    @Override
+    public void writeRow(Writer writer, UserLogResponse log) throws IOException {
+      writer.write(String.valueOf(log.getId()));
+      writer.write(',');
+      writeCsvField(writer, log.getLogType());
+      writer.write(',');
+      writer.write(String.valueOf(log.getTimestamp()));
+      writer.write(',');
+      writeCsvField(writer, log.getMessage());
+      writer.write('\n');
+    }
+  };
+
+  private final String contentType;
+  private final String extension;
+
+  LogExportFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  public abstract void writeHeader(Writer writer) throws IOException;
+
+  public abstract void writeRow(Writer writer, UserLogResponse log) throws IOException;
+
+  /**
+   * 요청 파라미터로부터 형식 결정
+   * @param value "ndjson" 또는 "csv" (대소문자 무시)
+   * @return LogExportFormat
+   */
+  public static LogExportFormat from(String value) {
+    for (LogExportFormat format : values()) {
+      if (format.extension.equalsIgnoreCase(value)) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported export format: " + value);
+  }
+
+  private static void writeJsonString(Writer writer, String value) throws IOException {
+    if (value == null) {
+      writer.write("null");
+      return;
+    }
+    writer.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> writer.write("\\\"");
+        case '\\' -> writer.write("\\\\");
+        case '\n' -> writer.write("\\n");
+        case '\r' -> writer.write("\\r");
+        case '\t' -> writer.write("\\t");
+        default -> {
+          if (c < 0x20) {
+            writer.write(String.format("\\u%04x", (int) c));
+          } else {
+            writer.write(c);
+          }
+        }
+      }
+    }
+    writer.write('"');
+  }
+
+  private static void writeCsvField(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+      || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
@@ -0,0 +1,129 @@
+package com.ab108.auth.service;
+
+import com.ab108.auth.entity.RefreshToken;
+import com.ab108.auth.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 불투명 refresh token 발급, 회전, 폐기.
+ * 원문은 256bit 난수(base64url)이고 DB 에는 SHA-256 해시만 저장하므로, 갱신 시 비밀번호 해싱 없이 인덱스 조회 한 번으로 검증한다.
+ * 이미 교체된 토큰이 다시 사용되면 탈취로 보고 같은 family 의 토큰을 모두 폐기한다.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+  private static final int TOKEN_BYTES = 32;
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final long refreshTokenExpTime;
+  private final SecureRandom random = new SecureRandom();
+
+  public RefreshTokenService(
+    RefreshTokenRepository refreshTokenRepository,
+    @Value("${jwt.refresh.expiration_time:1209600000}") long refreshTokenExpTime
+  ) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.refreshTokenExpTime = refreshTokenExpTime;
+  }
+
+  /**
+   * 회전 결과
+   * @param userId 토큰 소유자
+   * @param email 토큰 소유자 이메일
+   * @param refreshToken 새로 발급한 refresh token 원문
+   */
+  public record Rotation(Long userId, String email, String refreshToken) {
+  }
+
+  /**
+   * 로그인 시 새 family 로 refresh token 발급
+   * @return refresh token 원문
+   */
+  @Transactional
+  public String issue(Long userId, String email) {
+    return create(UUID.randomUUID().toString(), userId, email);
+  }
+
+  /**
+   * refresh token 을 사용하고 같은 family 의 새 토큰으로 교체
+   * 재사용이 감지되어도 family 폐기는 커밋되어야 하므로 IllegalArgumentException 에서는 롤백하지 않는다.
+   * @param rawToken 클라이언트가 보낸 refresh token
+   * @return 회전 결과
+   */
+  @Transactional(noRollbackFor = IllegalArgumentException.class)
+  public Rotation rotate(String rawToken) {
+    RefreshToken token = (rawToken != null) ? refreshTokenRepository.findByTokenHash(hash(rawToken)) : null;
+    if (token == null || token.isRevoked() || token.getExpiresAt().isBefore(LocalDateTime.now())) {
+      throw new IllegalArgumentException("Invalid refresh token");
+    }
+
+    if (refreshTokenRepository.markRotated(token.getId(), LocalDateTime.now()) == 0) {
+      // 이미 교체된 토큰의 재사용: 정상 클라이언트와 공격자 중 누가 최신 토큰을 가졌는지 알 수 없으므로 family 전체 폐기
+      refreshTokenRepository.revokeFamily(token.getFamilyId());
+      log.warn("Refresh token reuse detected for user {} (family {})", token.getUserId(), token.getFamilyId());
+      throw new IllegalArgumentException("Invalid refresh token");
+    }
+
+    String next = create(token.getFamilyId(), token.getUserId(), token.getEmail());
+    return new Rotation(token.getUserId(), token.getEmail(), next);
+  }
+
+  /**
+   * 토큰이 속한 family 폐기 (로그아웃)
+   */
+  @Transactional
+  public void revoke(String rawToken) {
+    RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken));
+    if (token != null) {
+      refreshTokenRepository.revokeFamily(token.getFamilyId());
+    }
+  }
+
+  /**
+   * 사용자의 모든 refresh token 폐기 (관리자 토큰 만료, 비밀번호 만료)
+   */
+  @Transactional
+  public void revokeAll(Long userId) {
+    refreshTokenRepository.revokeAllByUserId(userId);
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.refresh.sweep-interval:3600000}")
+  @Transactional
+  public void purgeExpired() {
+    refreshTokenRepository.deleteExpired(LocalDateTime.now());
+  }
+
+  private String create(String familyId, Long userId, String email) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    LocalDateTime expiresAt = LocalDateTime.now().plusNanos(refreshTokenExpTime * 1_000_000);
+    refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, userId, email, expiresAt));
+    return rawToken;
+  }
+
+  // 원문이 256bit 난수이므로 salt, 반복 없는 SHA-256 으로 충분
+  private static String hash(String rawToken) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
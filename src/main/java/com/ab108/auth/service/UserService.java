@@ -1,15 +1,20 @@
 package com.ab108.auth.service;
 
+import com.ab108.auth.audit.AuditLogWriter;
+import com.ab108.auth.audit.AuditRecord;
+import com.ab108.auth.cache.UserPrincipal;
+import com.ab108.auth.cache.UserPrincipalCache;
 import com.ab108.auth.dto.SignupRequest;
+import com.ab108.auth.dto.TokenPair;
 import com.ab108.auth.entity.Authority;
 import com.ab108.auth.entity.User;
-import com.ab108.auth.entity.UserLog;
+import com.ab108.auth.exception.TooManyLoginAttemptsException;
 import com.ab108.auth.exception.UnauthorizedException;
-import com.ab108.auth.repository.UserLogRepository;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.ratelimit.LoginAttemptLimiter;
 import com.ab108.auth.repository.UserRepository;
 import com.ab108.auth.utils.JwtUtil;
-import io.jsonwebtoken.Claims;
-import jakarta.servlet.http.HttpServletRequest;
+import com.ab108.auth.utils.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -23,9 +28,13 @@ import java.time.LocalDateTime;
 public class UserService {
 
   private final UserRepository userRepository;
-  private final UserLogRepository userLogRepository;
+  private final AuditLogWriter auditLogWriter;
   private final PasswordEncoder passwordEncoder;
   private final JwtUtil jwtUtil;
+  private final UserPrincipalCache userPrincipalCache;
+  private final LoginAttemptLimiter loginAttemptLimiter;
+  private final RefreshTokenService refreshTokenService;
+  private final AuthMetrics authMetrics;
 
   /**
    * 회원가입 처리
@@ -50,58 +59,125 @@ public class UserService {
     return userRepository.save(user);
   }
 
-  public String login(String email, String password) {
+  /**
+   * 로그인 처리
+   * @param clientIp 클라이언트 IP (시도 제한 키), 알 수 없으면 null
+   * @return access token, refresh token
+   */
+  public TokenPair login(String email, String password, String clientIp) {
+    // 시도 제한에 걸리면 사용자 조회, 비밀번호 비교 없이 바로 거절
+    long now = System.currentTimeMillis();
+    long retryAfter = loginAttemptLimiter.tryAcquire(email, clientIp, now);
+    if (retryAfter > 0) {
+      authMetrics.reject(AuthMetrics.Rejection.THROTTLED);
+      throw new TooManyLoginAttemptsException(retryAfter);
+    }
+
+    long lookupStart = System.nanoTime();
     User user = userRepository.findUserByEmail(email);
+    authMetrics.record(AuthMetrics.Stage.USER_LOOKUP, lookupStart);
     if(user == null) {
+      authMetrics.reject(AuthMetrics.Rejection.USER_NOT_FOUND);
+      loginAttemptLimiter.recordFailure(email, clientIp, now);
       saveUserLog(null, "LOGIN_FAILURE", "이메일이 존재하지 않습니다.");
       throw new UsernameNotFoundException("이메일이 존재하지 않습니다.");
     }
 
     // 비밀번호 설정 90일 만료 조건 확인
     if (isPasswordExpired(user)) {
-      saveUserLog(user, "LOGIN_FAILURE", "비밀번호가 만료되었습니다.");
+      authMetrics.reject(AuthMetrics.Rejection.PASSWORD_EXPIRED);
+      saveUserLog(user.getId(), "LOGIN_FAILURE", "비밀번호가 만료되었습니다.");
       jwtUtil.expireUserTokens(user.getId()); // 기존 토큰 무효화
+      refreshTokenService.revokeAll(user.getId());
       throw new UnauthorizedException("비밀번호가 만료되었습니다. 비밀번호를 변경해주세요.");
     }
 
     // 암호화된 password를 디코딩한 값과 입력한 패스워드 값이 다르면 null 반환
-    if(!passwordEncoder.matches(password, user.getPassword())) {
-      saveUserLog(user, "LOGIN_FAILURE", "비밀번호가 일치하지 않습니다.");
+    long verifyStart = System.nanoTime();
+    boolean matches = passwordEncoder.matches(password, user.getPassword());
+    authMetrics.record(AuthMetrics.Stage.PASSWORD_VERIFY, verifyStart);
+    if(!matches) {
+      authMetrics.reject(AuthMetrics.Rejection.BAD_CREDENTIALS);
+      loginAttemptLimiter.recordFailure(email, clientIp, now);
+      saveUserLog(user.getId(), "LOGIN_FAILURE", "비밀번호가 일치하지 않습니다.");
       throw new BadCredentialsException("비밀번호가 일치하지 않습니다.");
     }
 
-    String accessToken = jwtUtil.createAccessToken(user.getEmail(), user.getAuthority());
-    saveUserLog(user, "LOGIN_SUCCESS", "로그인 성공");
+    loginAttemptLimiter.recordSuccess(email, clientIp, now);
+
+    // 저장된 해시의 비용이 현재 설정보다 낮으면 평문을 알고 있는 지금 다시 해싱
+    if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+      user.upgradePasswordHash(passwordEncoder.encode(password));
+      userRepository.save(user);
+    }
+
+    String accessToken = jwtUtil.createAccessToken(user.getId(), user.getEmail(), user.getAuthority());
+    String refreshToken = refreshTokenService.issue(user.getId(), user.getEmail());
+    saveUserLog(user.getId(), "LOGIN_SUCCESS", "로그인 성공");
+
+    return new TokenPair(accessToken, refreshToken);
+  }
+
+  /**
+   * refresh token 으로 access token 재발급 (비밀번호 해싱 없음)
+   * refresh token 도 새 토큰으로 교체되며, 이전 토큰은 더 이상 사용할 수 없다.
+   * @param refreshToken 클라이언트가 보관한 refresh token
+   * @return 새 access token, 새 refresh token
+   */
+  public TokenPair refresh(String refreshToken) {
+    RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+    UserPrincipal principal = userPrincipalCache.get(rotation.email());
+    if (principal == null || !principal.isActive() || !principal.getId().equals(rotation.userId())) {
+      refreshTokenService.revokeAll(rotation.userId());
+      throw new IllegalArgumentException("Invalid refresh token");
+    }
+    if (principal.getPasswordUpdatedAt().isBefore(LocalDateTime.now().minusDays(90))) {
+      refreshTokenService.revokeAll(principal.getId());
+      throw new UnauthorizedException("비밀번호가 만료되었습니다. 비밀번호를 변경해주세요.");
+    }
 
-    return accessToken;
+    String accessToken = jwtUtil.createAccessToken(principal.getId(), principal.getEmail(), principal.getAuthority());
+    return new TokenPair(accessToken, rotation.refreshToken());
   }
 
-  public void logout(HttpServletRequest request) {
-    String token = jwtUtil.resolveToken(request);
-    if(token == null || jwtUtil.isBlacklisted(token)) {
+  /**
+   * 로그아웃 처리
+   * @param verified JwtFilter 가 이미 검증한 access token (서명을 다시 검증하지 않음), 없으면 null
+   * @param refreshToken 함께 폐기할 refresh token, 없으면 null
+   */
+  public void logout(VerifiedToken verified, String refreshToken) {
+    if (verified == null) {
       throw new IllegalArgumentException("Invalid or expired token");
     }
 
-    Claims claims = jwtUtil.parseClaims(token);
-    String email = claims.getSubject();
+    // 필터 검증 이후 같은 토큰으로 동시에 로그아웃한 경우
+    if (jwtUtil.isBlacklisted(verified.getJti(), verified.getExpiration())) {
+      throw new IllegalArgumentException("Invalid or expired token");
+    }
 
-    // 사용자 검색
-    User user = userRepository.findUserByEmail(email);
-    if (user == null) {
+    // 사용자 검색 (캐시 우선)
+    long lookupStart = System.nanoTime();
+    UserPrincipal principal = userPrincipalCache.get(verified.getSubject());
+    authMetrics.record(AuthMetrics.Stage.USER_LOOKUP, lookupStart);
+    if (principal == null) {
       throw new IllegalArgumentException("Invalid token: user not found");
     }
 
     // 블랙리스트에 추가
-    long expirationTime = claims.getExpiration().getTime();
-    jwtUtil.addToBlacklist(token, expirationTime);
+    jwtUtil.addToBlacklist(verified.getJti(), verified.getExpiration());
+    if (refreshToken != null) {
+      refreshTokenService.revoke(refreshToken);
+    }
 
     // 로그아웃 기록 저장
-    saveUserLog(user, "LOGOUT", "로그아웃 성공");
+    saveUserLog(principal.getId(), "LOGOUT", "로그아웃 성공");
   }
 
-  private void saveUserLog(User user, String logType, String message) {
-    userLogRepository.save(new UserLog(
-      user,
+  private void saveUserLog(Long userId, String logType, String message) {
+    // 요청 스레드에서는 큐에 넣기만 하고 DB 기록은 AuditLogWriter 가 묶음으로 처리
+    auditLogWriter.append(new AuditRecord(
+      userId,
       logType,
       LocalDateTime.now(),
       message
@@ -0,0 +1,261 @@
+package com.ab108.auth.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 사용자 id -> 토큰 무효화 기준 시점 테이블.
+ * Long 박싱과 노드 할당을 피하기 위해 long[] 기반 open addressing 해시 테이블을 stripe 단위로 나누어 사용한다.
+ * 조회는 StampedLock 의 낙관적 읽기로 잠금 없이 수행하고, 쓰기는 해당 stripe 만 잠근다.
+ */
+@Component
+public class InvalidationTable {
+
+  private static final int STRIPES = 16;
+  private static final int INITIAL_CAPACITY = 16;
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  public InvalidationTable() {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * 무효화 기준 시점 조회
+   * @param userId 사용자 id
+   * @return 기준 시점, 없으면 0
+   */
+  public long get(long userId) {
+    long hash = hash(userId);
+    Stripe stripe = stripeFor(hash);
+    long stamp = stripe.lock.tryOptimisticRead();
+    long value = find(stripe.table, userId, hash);
+    if (!stripe.lock.validate(stamp)) {
+      stamp = stripe.lock.readLock();
+      try {
+        value = find(stripe.table, userId, hash);
+      } finally {
+        stripe.lock.unlockRead(stamp);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * 무효화 기준 시점을 now 로 갱신 (같은 밀리초에 다시 호출되어도 값이 증가하도록 보정)
+   * @param userId 사용자 id
+   * @param now 현재 시각
+   * @return 갱신된 기준 시점
+   */
+  public long advance(long userId, long now) {
+    if (userId == EMPTY) {
+      throw new IllegalArgumentException("Invalid user id");
+    }
+    long hash = hash(userId);
+    Stripe stripe = stripeFor(hash);
+    long stamp = stripe.lock.writeLock();
+    try {
+      long[] table = stripe.table;
+      int slot = slotOf(table, userId, hash);
+      if (table[slot] == userId) {
+        table[slot + 1] = Math.max(now, table[slot + 1] + 1);
+        return table[slot + 1];
+      }
+
+      putNew(stripe, slot, userId, now);
+      return now;
+    } finally {
+      stripe.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * 무효화 기준 시점을 value 이상으로 설정 (다른 노드에서 받은 값 반영용)
+   * @param userId 사용자 id
+   * @param value 기준 시점
+   */
+  public void mergeMax(long userId, long value) {
+    if (userId == EMPTY) {
+      throw new IllegalArgumentException("Invalid user id");
+    }
+    long hash = hash(userId);
+    Stripe stripe = stripeFor(hash);
+    long stamp = stripe.lock.writeLock();
+    try {
+      long[] table = stripe.table;
+      int slot = slotOf(table, userId, hash);
+      if (table[slot] == userId) {
+        table[slot + 1] = Math.max(value, table[slot + 1]);
+        return;
+      }
+      putNew(stripe, slot, userId, value);
+    } finally {
+      stripe.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * 기준 시점이 cutoff 이전인 항목 제거.
+   * 기준 시점 + 토큰 유효 기간이 지났다면 그 이전에 발급된 토큰은 모두 만료되었으므로 항목이 더 이상 필요 없다.
+   * @param cutoff now - 토큰 유효 기간
+   * @return 제거된 항목 수
+   */
+  public int prune(long cutoff) {
+    int removed = 0;
+    for (Stripe stripe : stripes) {
+      long stamp = stripe.lock.writeLock();
+      try {
+        long[] table = stripe.table;
+        int live = 0;
+        for (int i = 0; i < table.length; i += 2) {
+          if (table[i] != EMPTY && table[i + 1] >= cutoff) {
+            live++;
+          }
+        }
+        if (live == stripe.size) {
+          continue;
+        }
+
+        long[] rebuilt = newTable(capacityFor(live));
+        for (int i = 0; i < table.length; i += 2) {
+          if (table[i] != EMPTY && table[i + 1] >= cutoff) {
+            insert(rebuilt, table[i], table[i + 1]);
+          }
+        }
+        removed += stripe.size - live;
+        stripe.size = live;
+        stripe.table = rebuilt;
+      } finally {
+        stripe.lock.unlockWrite(stamp);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * 모든 항목 순회 (스냅샷 작성용)
+   * @param consumer (userId, 기준 시점) 소비자
+   */
+  public void forEach(EntryConsumer consumer) {
+    for (Stripe stripe : stripes) {
+      long stamp = stripe.lock.readLock();
+      try {
+        long[] table = stripe.table;
+        for (int i = 0; i < table.length; i += 2) {
+          if (table[i] != EMPTY) {
+            consumer.accept(table[i], table[i + 1]);
+          }
+        }
+      } finally {
+        stripe.lock.unlockRead(stamp);
+      }
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      long stamp = stripe.lock.readLock();
+      try {
+        size += stripe.size;
+      } finally {
+        stripe.lock.unlockRead(stamp);
+      }
+    }
+    return size;
+  }
+
+  // 쓰기 잠금을 잡은 상태에서 빈 슬롯에 삽입하고 필요하면 확장
+  private static void putNew(Stripe stripe, int slot, long userId, long value) {
+    long[] table = stripe.table;
+    table[slot] = userId;
+    table[slot + 1] = value;
+    stripe.size++;
+    if (stripe.size * 2 > table.length / 2) {
+      long[] resized = newTable(table.length); // 용량 2배 (table.length 는 용량 * 2)
+      for (int i = 0; i < table.length; i += 2) {
+        if (table[i] != EMPTY) {
+          insert(resized, table[i], table[i + 1]);
+        }
+      }
+      stripe.table = resized;
+    }
+  }
+
+  private Stripe stripeFor(long hash) {
+    return stripes[(int) (hash >>> 60) & (STRIPES - 1)];
+  }
+
+  private static long find(long[] table, long key, long hash) {
+    int capacity = table.length >>> 1;
+    int mask = capacity - 1;
+    int index = (int) hash & mask;
+    for (int probes = 0; probes < capacity; probes++) {
+      long k = table[index << 1];
+      if (k == key) {
+        return table[(index << 1) + 1];
+      }
+      if (k == EMPTY) {
+        return 0L;
+      }
+      index = (index + 1) & mask;
+    }
+    return 0L;
+  }
+
+  // key 가 있는 슬롯 또는 삽입할 빈 슬롯의 배열 위치 반환 (테이블은 항상 절반 이하로 채워짐)
+  private static int slotOf(long[] table, long key, long hash) {
+    int mask = (table.length >>> 1) - 1;
+    int index = (int) hash & mask;
+    while (table[index << 1] != key && table[index << 1] != EMPTY) {
+      index = (index + 1) & mask;
+    }
+    return index << 1;
+  }
+
+  private static void insert(long[] table, long key, long value) {
+    int slot = slotOf(table, key, hash(key));
+    table[slot] = key;
+    table[slot + 1] = value;
+  }
+
+  private static int capacityFor(int size) {
+    int capacity = INITIAL_CAPACITY;
+    while (capacity < size * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static long[] newTable(int capacity) {
+    long[] table = new long[capacity * 2];
+    Arrays.fill(table, EMPTY); // 값 칸도 함께 채워지지만 키 칸만 의미가 있음
+    return table;
+  }
+
+  // MurmurHash3 fmix64
+  private static long hash(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return key;
+  }
+
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long userId, long timestamp);
+  }
+
+  private static final class Stripe {
+    private final StampedLock lock = new StampedLock();
+    private long[] table = newTable(INITIAL_CAPACITY);
+    private int size;
+  }
+}
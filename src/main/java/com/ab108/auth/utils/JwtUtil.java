@@ -1,63 +1,121 @@
 package com.ab108.auth.utils;
 
 import com.ab108.auth.entity.Authority;
-import com.ab108.auth.entity.User;
-import com.ab108.auth.repository.UserRepository;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.revocation.RevocationEvent;
+import com.ab108.auth.revocation.RevocationPublisher;
+import com.ab108.auth.revocation.RevocationStore;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
-  private final Key key;
+  private static final long REJECTION_LOG_INTERVAL_MILLIS = 10_000;
+
+  // 서명 키 링 (kid 별 검증 키와 공통 파서)
+  private final SigningKeyRing keyRing;
   private final long accessTokenExpTime;
-  private final UserRepository userRepository;
-  // 블랙리스트 저장소
-  private final Map<String, Long> blacklist = new ConcurrentHashMap<>();
+  // 블랙리스트 저장소 (jti 기준)
+  private final TokenBlacklist blacklist;
 
-  private final Map<Long, Long> invalidateTimestamps = new ConcurrentHashMap<>();
+  // 사용자별 무효화 기준 시점
+  private final InvalidationTable invalidateTimestamps;
+  // 다른 노드로 폐기 이벤트 전파
+  private final RevocationPublisher revocationPublisher;
+  // 재시작 후 복구를 위한 폐기 이벤트 저장소
+  private final RevocationStore revocationStore;
+  // 단계별 소요 시간, 거절 사유 집계
+  private final AuthMetrics authMetrics;
+  // 거절 로그 (사유별 10초에 한 줄)
+  private final RateLimitedLog rejectionLog = new RateLimitedLog(log, REJECTION_LOG_INTERVAL_MILLIS,
+    TokenStatus.values().length);
 
   public JwtUtil(
-    @Value("${jwt.secret}") String secretKey,
+    SigningKeyRing keyRing,
     @Value("${jwt.expiration_time}") long accessTokenExpTime,
-    UserRepository userRepository
-
+    TokenBlacklist blacklist,
+    InvalidationTable invalidateTimestamps,
+    RevocationPublisher revocationPublisher,
+    RevocationStore revocationStore,
+    AuthMetrics authMetrics
   ) {
-    byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-    this.key = Keys.hmacShaKeyFor(keyBytes);
+    this.keyRing = keyRing;
     this.accessTokenExpTime = accessTokenExpTime;
-    this.userRepository = userRepository;
+    this.blacklist = blacklist;
+    this.invalidateTimestamps = invalidateTimestamps;
+    this.revocationPublisher = revocationPublisher;
+    this.revocationStore = revocationStore;
+    this.authMetrics = authMetrics;
+  }
+
+  /**
+   * 저장소에서 아직 유효한 폐기 상태 복구
+   */
+  @PostConstruct
+  public void recoverRevocations() {
+    long now = System.currentTimeMillis();
+    int[] recovered = new int[1];
+    revocationStore.replay(event -> {
+      if (isLive(event, now)) {
+        applyLocally(event);
+        recovered[0]++;
+      }
+    });
+    if (recovered[0] > 0) {
+      log.info("Recovered {} revocation events", recovered[0]);
+    }
+  }
+
+  /**
+   * 공유 비밀 키 교체 (HS256)
+   * 키 링 스냅샷이 한 번에 교체되므로, 요청 처리 중에 서명 키와 검증 키가 어긋나지 않는다.
+   * @param secretKey Base64 인코딩된 새 비밀 키
+   */
+  public void rotateKey(String secretKey) {
+    keyRing.rotateSecret(secretKey);
   }
 
   /**
    * Access Token 생성
+   * 검증 시 DB 조회가 필요 없도록 사용자 id(uid)와 발급 시점의 무효화 기준 시점(ver)을 함께 담는다.
+   * @param userId
    * @param email
    * @param authority
    * @return Access Token String
    */
-  public String createAccessToken(String email, Authority authority) {
+  public String createAccessToken(Long userId, String email, Authority authority) {
     long now = System.currentTimeMillis();
     long expirationTime = now + accessTokenExpTime; // 1시간 후 만료
 
-    return Jwts.builder()
+    return keyRing.sign(Jwts.builder()
+      .setId(UUID.randomUUID().toString()) // jti 설정
       .setSubject(email) // sub 설정
+      .claim("uid", userId)
+      .claim("ver", currentTokenVersion(userId, now))
       .claim("role", authority.name())
       .setIssuedAt(new Date(now)) // iat 설정
-      .setExpiration(new Date(expirationTime)) // exp 설정
-      .signWith(key, SignatureAlgorithm.HS256) // 서명
-      .compact();
+      .setExpiration(new Date(expirationTime))) // exp 설정
+      .compact(); // 활성 키로 서명 (kid 헤더 포함)
+  }
+
+  /**
+   * 설정된 Access Token 유효 기간 (jwt.expiration_time, 밀리초)
+   * @return 유효 기간
+   */
+  public long getAccessTokenExpTime() {
+    return accessTokenExpTime;
   }
 
   /**
@@ -74,130 +132,226 @@ public class JwtUtil {
   }
 
   /**
-   * 토큰으로부터 받은 정보를 기반으로 Authentication 객체를 반환하는 메소드.
-   * @param token
+   * 검증된 토큰 정보를 기반으로 Authentication 객체를 반환하는 메소드.
+   * 검증된 토큰은 credentials 로 담아, 이후 로그아웃 등에서 서명을 다시 검증하지 않고 사용한다.
+   * @param token 검증된 토큰
    * @return Authentication
    */
-  public Authentication getAuthentication(String token) {
-    String username = getUsername(token);
-    Authority role = getRole(token);
-
+  public Authentication getAuthentication(VerifiedToken token) {
     return new UsernamePasswordAuthenticationToken(
-      username,
-      null,
-      AuthorityUtils.createAuthorityList(role.name())
+      token.getSubject(),
+      token,
+      AuthorityUtils.createAuthorityList(token.getRole().name())
     );
   }
 
-  private String getUsername(String token) {
-    return parseClaims(token).getSubject();
-  }
-
   /**
-   * JWT에서 권한 정보 조회
-   * @param token JWT
-   * @return 권한 목록
+   * JWT 서명을 한 번만 검증하고 클레임을 VerifiedToken 으로 추출
+   * 만료된 토큰도 서명은 검증된 상태이므로 그대로 반환하며, 만료 여부는 validateToken 에서 확인한다.
+   * @param token
+   * @return VerifiedToken
+   * @throws IllegalArgumentException 서명, 형식이 잘못된 토큰
    */
-  public Authority getRole(String token) {
-
-    String role = parseClaims(token).get("role", String.class);
-    return Authority.valueOf(role);
+  public VerifiedToken parseToken(String token) {
+    TokenParseResult result = tryParseToken(token);
+    if (!result.isParsed()) {
+      throw new IllegalArgumentException(result.status().getMessage());
+    }
+    return result.token();
   }
 
-
-
   /**
-   * JWT 검증
+   * parseToken 의 예외를 던지지 않는 버전 (요청마다 호출되는 JwtFilter 용)
+   * 거절 사유는 결과 상태로 돌려주고, 로그는 사유별로 간격마다 한 줄만 남긴다.
+   * 서명 불일치, 형식 오류는 jjwt 내부에서 예외로 전달되므로 여기서 한 번 받아 상태로 바꾼다.
    * @param token
-   * @return IsValidate
+   * @return 파싱 결과 (실패 결과는 공유 인스턴스)
    */
-  public boolean validateToken(String token) {
+  public TokenParseResult tryParseToken(String token) {
+    long start = System.nanoTime();
+    Claims claims;
     try {
-      String email = getUsername(token);
-      User user = userRepository.findUserByEmail(email);
-
-      if (user == null) {
-        throw new IllegalArgumentException("Invalid JWT Token: User not found");
-      }
-
-      if(isBlacklisted(token)) {
-        throw new IllegalArgumentException("Expired JWT Token");
-      }
-
-      // 무효화 기준 시점 이후 발급된 토큰인지 확인
-      if (isTokenInvalidated(user.getId(), parseClaims(token).getIssuedAt())) {
-        throw new IllegalArgumentException("Token issued before invalidate timestamp");
-      }
-
-      // JWT 자체 유효성 확인
-      Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-      return true;
-    } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
-      log.error("Invalid JWT Token", e);
-      throw new IllegalArgumentException("Invalid JWT Token");
+      claims = keyRing.parser().parseClaimsJws(token).getBody(); // kid 로 검증 키 선택
     } catch (ExpiredJwtException e) {
-      log.warn("Expired JWT Token", e);
-      throw new IllegalArgumentException("Expired JWT Token");
+      claims = e.getClaims(); // 파서는 만료를 확인하지 않으므로 보통 도달하지 않음
+    } catch (io.jsonwebtoken.security.SecurityException e) {
+      return reject(TokenStatus.INVALID_SIGNATURE, e);
+    } catch (MalformedJwtException e) {
+      return reject(TokenStatus.MALFORMED, e);
     } catch (UnsupportedJwtException e) {
-      log.error("Unsupported JWT Token", e);
-      throw new IllegalArgumentException("Unsupported JWT Token");
+      return reject(TokenStatus.UNSUPPORTED, e);
+    } catch (IllegalArgumentException e) {
+      return reject(TokenStatus.MALFORMED, e); // 빈 토큰
+    }
+    authMetrics.record(AuthMetrics.Stage.SIGNATURE_VERIFY, start);
+
+    VerifiedToken verified;
+    try {
+      verified = VerifiedToken.of(token, claims);
     } catch (IllegalArgumentException e) {
-      log.error("JWT claims string is empty.", e);
-      throw new IllegalArgumentException("JWT claims string is empty.");
+      return reject(TokenStatus.MALFORMED, e); // 필수 클레임 누락, UUID 형식이 아닌 jti
     }
+    authMetrics.record(AuthMetrics.Stage.TOKEN_PARSE, start);
+    return TokenParseResult.success(verified);
   }
 
+  /**
+   * JWT 검증
+   * 토큰에 담긴 uid/ver 만으로 메모리에서 검증한다. 사용자 비활성화 등은 expireUserTokens 로 처리한다.
+   * @param token parseToken 으로 얻은 검증된 토큰
+   * @return IsValidate
+   * @throws IllegalArgumentException 만료, 폐기, 무효화된 토큰
+   */
+  public boolean validateToken(VerifiedToken token) {
+    TokenStatus status = checkToken(token);
+    if (!status.isValid()) {
+      throw new IllegalArgumentException(status.getMessage());
+    }
+    return true;
+  }
 
   /**
-   * JWT Claims 추출
-   * @param token
-   * @return JWT Claims
+   * validateToken 의 예외를 던지지 않는 버전
+   * @param token parseToken / tryParseToken 으로 얻은 검증된 토큰
+   * @return VALID, EXPIRED, BLACKLISTED, INVALIDATED 중 하나
    */
-  public Claims parseClaims(String token) {
-    try {
-      return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-    } catch (ExpiredJwtException e) {
-      return e.getClaims();
+  public TokenStatus checkToken(VerifiedToken token) {
+    if (token.isExpired(System.currentTimeMillis())) {
+      return reject(TokenStatus.EXPIRED);
+    }
+
+    long start = System.nanoTime();
+    boolean blacklisted = isBlacklisted(token.getJti(), token.getExpiration());
+    // 무효화 기준 시점 이후 발급된 토큰인지 확인
+    boolean invalidated = !blacklisted && isTokenInvalidated(token.getUserId(), token.getVersion());
+    authMetrics.record(AuthMetrics.Stage.BLACKLIST_CHECK, start);
+
+    if (blacklisted) {
+      return reject(TokenStatus.BLACKLISTED);
+    }
+    if (invalidated) {
+      return reject(TokenStatus.INVALIDATED);
     }
+    return TokenStatus.VALID;
   }
 
+  // 거절 집계 + 사유별 한 줄 로그 (스택 트레이스 없음)
+  private TokenStatus reject(TokenStatus status) {
+    authMetrics.reject(status.getRejection());
+    rejectionLog.warn(status, status.getMessage());
+    return status;
+  }
+
+  private TokenParseResult reject(TokenStatus status, RuntimeException cause) {
+    authMetrics.reject(status.getRejection());
+    rejectionLog.warn(status, cause.getClass().getSimpleName());
+    return TokenParseResult.failure(status);
+  }
 
   /**
    * 블랙리스트에 토큰 추가
-   * @param token 토큰
+   * @param jti 토큰 식별자
    * @param expirationTime 만료 시간 (UNIX 타임스탬프)
    */
-  public void addToBlacklist(String token, long expirationTime) {
-    blacklist.put(token, expirationTime);
+  public void addToBlacklist(UUID jti, long expirationTime) {
+    blacklist.add(jti, expirationTime);
+    revocationStore.append(RevocationEvent.blacklist(jti, expirationTime));
+    revocationPublisher.publishBlacklist(jti, expirationTime);
   }
 
   /**
    * 토큰이 블랙리스트에 있는지 확인
-   * @param token 토큰
+   * @param jti 토큰 식별자
+   * @param expirationTime 토큰 만료 시간
    * @return 블랙리스트에 있으면 true, 없으면 false
    */
-  public boolean isBlacklisted(String token) {
-    Long expirationTime = blacklist.get(token);
-    if (expirationTime == null) {
-      return false;
-    }
+  public boolean isBlacklisted(UUID jti, long expirationTime) {
+    return blacklist.contains(jti, expirationTime, System.currentTimeMillis());
+  }
 
-    // 만료 시간 확인
-    if (System.currentTimeMillis() > expirationTime) {
-      blacklist.remove(token); // 만료된 토큰은 블랙리스트에서 제거
-      return false;
+  /**
+   * 만료된 블랙리스트 항목과 더 이상 필요 없는 무효화 기준 시점 정리
+   * (만료 시각이 지난 토큰은 검증 단계에서 이미 거부됨)
+   */
+  @Scheduled(fixedDelayString = "${jwt.blacklist.sweep-interval:60000}")
+  public void purgeExpiredRevocations() {
+    long now = System.currentTimeMillis();
+    int removed = blacklist.purgeExpired(now);
+    int pruned = invalidateTimestamps.prune(now - accessTokenExpTime);
+    if (removed > 0 || pruned > 0) {
+      log.debug("Purged {} expired blacklist entries, {} invalidate timestamps", removed, pruned);
     }
+  }
 
-    return true;
+  /**
+   * 살아 있는 폐기 상태로 저장소 스냅샷 작성 (재시작 비용을 유효한 폐기 항목 수에 비례하도록 유지)
+   */
+  @Scheduled(fixedDelayString = "${revocation.store.snapshot-interval:300000}")
+  public void snapshotRevocations() {
+    revocationStore.compact(() -> {
+      long now = System.currentTimeMillis();
+      List<RevocationEvent> events = new ArrayList<>();
+      blacklist.forEachLive(now, (jti, expirationTime) -> events.add(RevocationEvent.blacklist(jti, expirationTime)));
+      invalidateTimestamps.forEach((userId, timestamp) -> {
+        if (timestamp >= now - accessTokenExpTime) {
+          events.add(RevocationEvent.expireUser(userId, timestamp));
+        }
+      });
+      return events;
+    });
   }
 
   public void expireUserTokens(Long userId) {
-    // 현재 시점을 무효화 기준 시점으로 설정
-    invalidateTimestamps.put(userId, System.currentTimeMillis());
+    // 현재 시점 + 1ms 를 무효화 기준 시점으로 설정 (같은 밀리초에 먼저 발급된 토큰도 거부되도록, 다시 호출되면 값이 증가하도록 보정)
+    long invalidateTimestamp = invalidateTimestamps.advance(userId, System.currentTimeMillis() + 1);
+    revocationStore.append(RevocationEvent.expireUser(userId, invalidateTimestamp));
+    revocationPublisher.publishUserExpiry(userId, invalidateTimestamp);
+  }
+
+  /**
+   * 다른 노드에서 전파된 폐기 이벤트 반영 (다시 전파하지 않음)
+   * @param event 폐기 이벤트
+   */
+  public void applyRevocation(RevocationEvent event) {
+    applyLocally(event);
+    revocationStore.append(event);
+  }
+
+  private void applyLocally(RevocationEvent event) {
+    if (event.getType() == RevocationEvent.Type.BLACKLIST) {
+      blacklist.add(event.getJti(), event.getTimestamp());
+    } else {
+      invalidateTimestamps.mergeMax(event.getUserId(), event.getTimestamp());
+    }
+  }
+
+  // 이미 만료된 토큰 또는 더 이상 필요 없는 무효화 기준 시점인지 확인
+  private boolean isLive(RevocationEvent event, long now) {
+    if (event.getType() == RevocationEvent.Type.BLACKLIST) {
+      return event.getTimestamp() >= now;
+    }
+    return event.getTimestamp() >= now - accessTokenExpTime;
+  }
+
+  /**
+   * 새로 발급할 토큰에 담을 버전 (발급 시각, 이 노드의 무효화 기준 시점이 더 크면 그 값)
+   * 로컬 테이블 값만 담으면 다른 노드의 무효화 이벤트가 도착하기 전에 발급한 토큰이 도착 후 거부되므로,
+   * 발급 시각을 기준으로 삼아 무효화 이후 발급된 토큰은 모든 노드에서 유효하게 한다.
+   * @param userId 사용자 id
+   * @param now 발급 시각 (epoch millis)
+   * @return ver 클레임 값
+   */
+  public long currentTokenVersion(Long userId, long now) {
+    return Math.max(now, invalidateTimestamps.get(userId));
   }
 
-  public boolean isTokenInvalidated(Long userId, Date issuedAt) {
-    Long invalidateTimestamp = invalidateTimestamps.get(userId);
-    return invalidateTimestamp != null && issuedAt.getTime() < invalidateTimestamp;
+  /**
+   * 토큰 발급 이후 무효화 기준 시점이 갱신되었는지 확인
+   * @param userId 사용자 id
+   * @param version 토큰의 ver 클레임
+   * @return 무효화된 토큰이면 true
+   */
+  public boolean isTokenInvalidated(long userId, long version) {
+    return version < invalidateTimestamps.get(userId);
   }
 }
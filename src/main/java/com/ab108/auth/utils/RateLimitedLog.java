@@ -0,0 +1,52 @@
+package com.ab108.auth.utils;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사유(enum)별로 일정 간격에 한 줄만 남기는 경고 로그.
+ * 같은 사유의 거절이 대량으로 발생해도 간격마다 한 줄과 그동안 생략된 건수만 기록하며, 스택 트레이스는 남기지 않는다.
+ * 생략되는 경우에는 카운터 증가만 하므로 문자열을 만들지 않는다.
+ */
+public final class RateLimitedLog {
+
+  private final Logger log;
+  private final long intervalNanos;
+  private final AtomicLongArray nextLogAt; // 사유별 다음 기록 가능 시점 (System.nanoTime)
+  private final LongAdder[] suppressed;
+
+  public RateLimitedLog(Logger log, long intervalMillis, int keys) {
+    this.log = log;
+    this.intervalNanos = intervalMillis * 1_000_000L;
+    this.nextLogAt = new AtomicLongArray(keys);
+    this.suppressed = new LongAdder[keys];
+    long now = System.nanoTime(); // nanoTime 은 음수일 수 있으므로 0 대신 현재 시점에서 시작
+    for (int i = 0; i < keys; i++) {
+      nextLogAt.set(i, now);
+      suppressed[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * 간격 안에 처음 발생한 경우에만 한 줄 기록
+   * @param reason 사유 (ordinal 로 구분)
+   * @param message 로그 메시지
+   */
+  public void warn(Enum<?> reason, String message) {
+    int key = reason.ordinal();
+    long now = System.nanoTime();
+    long next = nextLogAt.get(key);
+    if (now - next < 0 || !nextLogAt.compareAndSet(key, next, now + intervalNanos)) {
+      suppressed[key].increment();
+      return;
+    }
+    long skipped = suppressed[key].sumThenReset();
+    if (skipped > 0) {
+      log.warn("{}: {} ({} similar suppressed)", reason, message, skipped);
+    } else {
+      log.warn("{}: {}", reason, message);
+    }
+  }
+}
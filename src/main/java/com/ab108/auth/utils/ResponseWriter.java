@@ -0,0 +1,165 @@
+package com.ab108.auth.utils;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 로그인, 토큰 거절처럼 요청이 가장 많은 경로의 응답을 servlet 출력 버퍼에 직접 쓰는 유틸.
+ * <ul>
+ *   <li>고정 본문(401, 로그아웃 성공 등)은 미리 인코딩한 byte[] 를 그대로 쓴다.</li>
+ *   <li>토큰 응답은 고정 JSON 조각 사이에 토큰 문자를 한 바이트씩 써서, Jackson 직렬화나 중간 String / byte[] 를 만들지 않는다.</li>
+ * </ul>
+ * JWT 와 refresh token 은 base64url 과 '.' 만으로 이루어진 ASCII 이므로 문자 하나가 1 바이트이다.
+ */
+public final class ResponseWriter {
+
+  private static final String TEXT = "text/plain;charset=UTF-8";
+  private static final String JSON = "application/json";
+
+  public static final Body INVALID_TOKEN = new Body("Invalid or expired token", TEXT);
+  public static final Body UNAUTHORIZED = new Body("Unauthorized", TEXT);
+  public static final Body LOGGED_OUT = new Body("Successfully logged out", TEXT);
+  public static final Body LOGOUT_FAILED = new Body("Invalid token", TEXT);
+
+  // {"token":"...","refreshToken":"...","iat":...,"exp":...}
+  private static final byte[] TOKEN_START = ascii("{\"token\":\"");
+  private static final byte[] REFRESH_TOKEN = ascii("\",\"refreshToken\":\"");
+  private static final byte[] IAT = ascii("\",\"iat\":");
+  private static final byte[] EXP = ascii(",\"exp\":");
+  private static final byte[] TOKEN_END = ascii("}");
+
+  // {"error": "..."}
+  private static final byte[] ERROR_START = ascii("{\"error\": \"");
+  private static final byte[] ERROR_END = ascii("\"}");
+
+  private ResponseWriter() {
+  }
+
+  /**
+   * 미리 인코딩한 고정 본문 쓰기
+   * @param response 응답
+   * @param status HTTP 상태 코드
+   * @param body 고정 본문
+   */
+  public static void write(HttpServletResponse response, int status, Body body) throws IOException {
+    response.setStatus(status);
+    response.setContentType(body.contentType);
+    response.setContentLength(body.bytes.length);
+    response.getOutputStream().write(body.bytes);
+  }
+
+  /**
+   * 토큰 응답 쓰기 (Content-Length 를 미리 계산해 chunked 인코딩 없이 전송)
+   * @param iat 발급 시각 (epoch seconds)
+   * @param exp 만료 시각 (epoch seconds)
+   */
+  public static void writeTokens(HttpServletResponse response, String accessToken, String refreshToken,
+                                 long iat, long exp) throws IOException {
+    int length = TOKEN_START.length + accessToken.length() + REFRESH_TOKEN.length + refreshToken.length()
+      + IAT.length + digits(iat) + EXP.length + digits(exp) + TOKEN_END.length;
+
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(JSON);
+    response.setContentLength(length);
+
+    ServletOutputStream out = response.getOutputStream();
+    out.write(TOKEN_START);
+    writeAscii(out, accessToken);
+    out.write(REFRESH_TOKEN);
+    writeAscii(out, refreshToken);
+    out.write(IAT);
+    writeLong(out, iat);
+    out.write(EXP);
+    writeLong(out, exp);
+    out.write(TOKEN_END);
+  }
+
+  /**
+   * {"error": "..."} 형식의 오류 응답 쓰기
+   * 이전처럼 문자열을 이어 붙이지 않고 메시지를 JSON 이스케이프한다 (오류 경로는 드물어 한 번 인코딩).
+   * @param status HTTP 상태 코드
+   * @param message 오류 메시지
+   */
+  public static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+    byte[] utf8 = escapeJson(message).getBytes(StandardCharsets.UTF_8);
+
+    response.setStatus(status);
+    response.setContentType(JSON);
+    response.setContentLength(ERROR_START.length + utf8.length + ERROR_END.length);
+
+    ServletOutputStream out = response.getOutputStream();
+    out.write(ERROR_START);
+    out.write(utf8);
+    out.write(ERROR_END);
+  }
+
+  /**
+   * writeError 와 같은 {"error": "..."} 본문 문자열 (ResponseEntity 로 응답하는 컨트롤러용)
+   * @param message 오류 메시지 (요청 값이 들어 있을 수 있으므로 이스케이프)
+   */
+  public static String errorJson(String message) {
+    return "{\"error\": \"" + escapeJson(message) + "\"}";
+  }
+
+  private static String escapeJson(String message) {
+    String text = (message != null) ? message : "";
+    StringBuilder escaped = new StringBuilder(text.length() + 8);
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '"' || c == '\\') {
+        escaped.append('\\').append(c);
+      } else if (c < 0x20) {
+        escaped.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+      } else {
+        escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  private static void writeAscii(ServletOutputStream out, String value) throws IOException {
+    for (int i = 0; i < value.length(); i++) {
+      out.write(value.charAt(i));
+    }
+  }
+
+  // 음수가 아닌 long 을 10진수로 (문자열 생성 없이)
+  private static void writeLong(ServletOutputStream out, long value) throws IOException {
+    long divisor = 1;
+    while (value / divisor >= 10) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      out.write((int) ('0' + (value / divisor) % 10));
+    }
+  }
+
+  private static int digits(long value) {
+    int digits = 1;
+    while (value >= 10) {
+      value /= 10;
+      digits++;
+    }
+    return digits;
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * 미리 인코딩한 고정 응답 본문
+   */
+  public static final class Body {
+    private final byte[] bytes;
+    private final String contentType;
+
+    private Body(String text, String contentType) {
+      this.bytes = text.getBytes(StandardCharsets.UTF_8);
+      this.contentType = contentType;
+    }
+  }
+}
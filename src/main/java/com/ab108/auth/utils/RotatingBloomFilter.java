@@ -0,0 +1,123 @@
+package com.ab108.auth.utils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 토큰 만료 시각 구간별로 나눈 Bloom filter.
+ * 구간 길이는 토큰 유효 기간과 같아서 살아 있는 토큰은 항상 현재/다음 구간에 속하며,
+ * 지난 구간은 비트를 지우지 않고 새 구간으로 통째로 교체한다.
+ */
+public class RotatingBloomFilter {
+
+  private static final int SLOTS = 3;
+
+  private final long windowMillis;
+  private final int numBits;
+  private final int numHashes;
+  private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(SLOTS);
+
+  /**
+   * @param windowMillis 구간 길이 (토큰 유효 기간)
+   * @param expectedInsertions 구간당 예상 폐기 토큰 수
+   * @param fpp 목표 오탐률
+   */
+  public RotatingBloomFilter(long windowMillis, int expectedInsertions, double fpp) {
+    if (windowMillis <= 0 || expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("Invalid bloom filter configuration");
+    }
+    long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+    bits = Math.min(Math.max(bits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+    this.windowMillis = windowMillis;
+    this.numBits = (int) ((bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+    this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * 항목 추가
+   * @param key 토큰 식별자
+   * @param expirationTime 토큰 만료 시각
+   */
+  public void put(UUID key, long expirationTime) {
+    Bucket bucket = bucketFor(expirationTime / windowMillis);
+    if (bucket == null) {
+      return; // 이미 지난 구간 (만료된 토큰)
+    }
+    long h1 = mix(key.getMostSignificantBits());
+    long h2 = mix(key.getLeastSignificantBits()) | 1L;
+    for (int i = 0; i < numHashes; i++) {
+      int bit = (int) (((h1 + i * h2) & Long.MAX_VALUE) % numBits);
+      long mask = 1L << bit;
+      bucket.words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+    }
+  }
+
+  /**
+   * 포함 가능성 확인. false 이면 확실히 없는 것이고, true 이면 정확한 조회가 필요하다.
+   * @param key 토큰 식별자
+   * @param expirationTime 토큰 만료 시각
+   * @return 포함되었을 수 있으면 true
+   */
+  public boolean mightContain(UUID key, long expirationTime) {
+    long index = expirationTime / windowMillis;
+    Bucket bucket = buckets.get((int) Math.floorMod(index, (long) SLOTS));
+    if (bucket == null || bucket.index != index) {
+      return false;
+    }
+    long h1 = mix(key.getMostSignificantBits());
+    long h2 = mix(key.getLeastSignificantBits()) | 1L;
+    for (int i = 0; i < numHashes; i++) {
+      int bit = (int) (((h1 + i * h2) & Long.MAX_VALUE) % numBits);
+      if ((bucket.words.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int getNumBits() {
+    return numBits;
+  }
+
+  public int getNumHashes() {
+    return numHashes;
+  }
+
+  private Bucket bucketFor(long index) {
+    int slot = (int) Math.floorMod(index, (long) SLOTS);
+    Bucket bucket = buckets.get(slot);
+    if (bucket != null && bucket.index == index) {
+      return bucket;
+    }
+    synchronized (this) {
+      bucket = buckets.get(slot);
+      if (bucket == null || bucket.index < index) {
+        // 슬롯에 남은 구간의 토큰은 모두 만료되었으므로 새 구간으로 교체
+        bucket = new Bucket(index, numBits);
+        buckets.set(slot, bucket);
+      }
+      return bucket.index == index ? bucket : null;
+    }
+  }
+
+  // MurmurHash3 fmix64
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static final class Bucket {
+    private final long index;
+    private final AtomicLongArray words;
+
+    private Bucket(long index, int numBits) {
+      this.index = index;
+      this.words = new AtomicLongArray(numBits / Long.SIZE);
+    }
+  }
+}
@@ -0,0 +1,448 @@
+package com.ab108.auth.utils;
+
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * JWT 서명 키 링.
+ * <ul>
+ *   <li>HS256 (기본): jwt.secret 공유 키로 서명. 토큰을 검증하려면 같은 비밀 키가 필요하다.</li>
+ *   <li>ES256: P-256 키 쌍으로 서명하고, 공개 키를 /.well-known/jwks.json 으로 공개해
+ *       다른 서비스가 직접 검증할 수 있게 한다. 키는 주기적으로 교체되며, 다음 키는 사용 전 한 주기 동안 미리 공개되고
+ *       교체된 키는 그 키로 서명한 토큰이 모두 만료될 때까지 검증용으로 남는다.
+ *       키 링은 jwt.keys.path 파일에 저장하고 모든 노드가 같은 파일(공유 볼륨, 마운트된 secret 등)을 읽으므로,
+ *       재시작하거나 다른 노드가 발급한 토큰도 검증된다. kid 가 없거나 HMAC kid 인 토큰은 거절한다.</li>
+ * </ul>
+ * HS256 공유 키를 교체할 때도 이전 키는 같은 기간 동안 검증용으로 남는다.
+ * 모든 토큰 헤더에 kid 를 넣고, 파서는 하나만 두어 kid 로 현재 링에서 키를 바로 꺼내 검증한다.
+ * 링은 불변 스냅샷을 volatile 로 교체하므로 검증 경로에는 잠금이 없다.
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+
+  private static final String HS256 = "HS256";
+  private static final String ES256 = "ES256";
+  // 만료 확인은 JwtUtil.checkToken 에서 하므로 파서는 exp 로 거절하지 않게 함 (만료 토큰마다 ExpiredJwtException 생성 방지)
+  private static final long EXPIRATION_CHECKED_BY_CALLER = TimeUnit.DAYS.toSeconds(365L * 100);
+
+  private final String algorithm;
+  private final long accessTokenExpTime;
+  private final Path keyStore; // ES256 키 링 파일 (HS256 이면 null)
+  private final JwtParser parser;
+
+  private volatile Ring ring;
+
+  public SigningKeyRing(
+    @Value("${jwt.secret}") String secretKey,
+    @Value("${jwt.algorithm:HS256}") String algorithm,
+    @Value("${jwt.expiration_time}") long accessTokenExpTime,
+    @Value("${jwt.keys.path:./data/jwt-keys.properties}") String keyStorePath
+  ) {
+    if (!HS256.equals(algorithm) && !ES256.equals(algorithm)) {
+      throw new IllegalArgumentException("Unsupported jwt.algorithm: " + algorithm);
+    }
+    this.algorithm = algorithm;
+    this.accessTokenExpTime = accessTokenExpTime;
+
+    HmacKey hmacKey = HmacKey.of(secretKey);
+    if (ES256.equals(algorithm)) {
+      if (keyStorePath == null || keyStorePath.isBlank()) {
+        throw new IllegalArgumentException("jwt.keys.path is required for ES256");
+      }
+      this.keyStore = Paths.get(keyStorePath);
+      this.ring = withStore(stored -> stored != null ? stored : new StoredKeys(EcKey.generate(), EcKey.generate(), List.of()))
+        .toRing(hmacKey);
+    } else {
+      this.keyStore = null;
+      this.ring = new Ring(hmacKey, List.of(), null, null, List.of());
+    }
+
+    // 키 조회는 헤더의 kid 로 현재 링에서 바로 꺼냄
+    // (HS256 에서 kid 가 없는 토큰은 공유 비밀 키로 서명된 이전 토큰, ES256 에서는 거절)
+    this.parser = Jwts.parserBuilder()
+      .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+          Ring current = ring;
+          String kid = header.getKeyId();
+          if (kid == null && current.active != null) {
+            throw new SignatureException("Missing JWT key id");
+          }
+          Key key = (kid != null) ? current.verificationKeys.get(kid) : current.hmac.key;
+          if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + kid);
+          }
+          return key;
+        }
+      })
+      .setAllowedClockSkewSeconds(EXPIRATION_CHECKED_BY_CALLER)
+      .build();
+  }
+
+  /**
+   * 현재 활성 키로 서명 (kid 헤더 포함)
+   * @param builder 클레임을 채운 builder
+   * @return 서명 설정이 끝난 builder
+   */
+  public JwtBuilder sign(JwtBuilder builder) {
+    Ring current = ring;
+    if (current.active != null) {
+      return builder
+        .setHeaderParam(JwsHeader.KEY_ID, current.active.kid)
+        .signWith(current.active.keyPair.getPrivate(), SignatureAlgorithm.ES256);
+    }
+    return builder
+      .setHeaderParam(JwsHeader.KEY_ID, current.hmac.kid)
+      .signWith(current.hmac.key, SignatureAlgorithm.HS256);
+  }
+
+  /**
+   * 모든 키에 공통으로 쓰는 파서 (불변, 스레드 안전)
+   */
+  public JwtParser parser() {
+    return parser;
+  }
+
+  /**
+   * 공유 비밀 키 교체 (HS256)
+   * 이전 키는 그 키로 서명한 토큰이 모두 만료될 때까지 검증용으로 유지한다.
+   * @param secretKey Base64 인코딩된 새 비밀 키
+   */
+  public synchronized void rotateSecret(String secretKey) {
+    Ring current = ring;
+    HmacKey hmac = HmacKey.of(secretKey);
+    if (hmac.kid.equals(current.hmac.kid)) {
+      return; // 같은 키
+    }
+
+    long now = System.currentTimeMillis();
+    List<HmacKey> retired = new ArrayList<>();
+    for (HmacKey key : current.retiredHmac) {
+      if (key.retiredAt + accessTokenExpTime >= now && !key.kid.equals(hmac.kid)) {
+        retired.add(key);
+      }
+    }
+    retired.add(current.hmac.retire(now));
+
+    ring = new Ring(hmac, List.copyOf(retired), current.active, current.next, current.retired);
+    log.info("Rotated JWT shared secret to {}", hmac.kid);
+  }
+
+  /**
+   * 서명 키 교체 (ES256). 미리 공개해 둔 다음 키를 활성화하고 새 다음 키를 만든다.
+   * 교체된 키는 그 키로 서명한 토큰이 모두 만료될 때까지 검증용으로 유지한다.
+   * 키 링 파일을 잠근 채로 다시 읽어, 다른 노드가 이미 교체했으면 그 결과를 그대로 받아들이고 다시 교체하지 않는다.
+   * 다음 키는 한 주기 전에 파일에 기록되어 있으므로, 먼저 교체한 노드가 서명한 토큰도 다른 노드에서 검증된다.
+   */
+  @Scheduled(fixedDelayString = "${jwt.keys.rotation-interval:86400000}",
+    initialDelayString = "${jwt.keys.rotation-interval:86400000}")
+  public synchronized void rotate() {
+    Ring current = ring;
+    if (current.active == null) {
+      return; // HS256 은 rotateSecret 으로만 교체
+    }
+
+    StoredKeys rotated = withStore(stored -> {
+      if (stored != null && !stored.active.kid.equals(current.active.kid)) {
+        return stored; // 다른 노드가 이미 교체함
+      }
+      StoredKeys base = (stored != null) ? stored : new StoredKeys(current.active, current.next, current.retired);
+      long now = System.currentTimeMillis();
+      List<EcKey> retired = new ArrayList<>();
+      for (EcKey key : base.retired) {
+        if (key.retiredAt + accessTokenExpTime >= now) {
+          retired.add(key);
+        }
+      }
+      retired.add(base.active.retire(now));
+      return new StoredKeys(base.next, EcKey.generate(), List.copyOf(retired));
+    });
+
+    ring = rotated.toRing(current.hmac, current.retiredHmac);
+    log.info("Rotated JWT signing key to {}", rotated.active.kid);
+  }
+
+  /**
+   * 공개 키 목록 (JWK Set)
+   */
+  public Jwks jwks() {
+    return ring.jwks;
+  }
+
+  public String getAlgorithm() {
+    return algorithm;
+  }
+
+  public String getActiveKeyId() {
+    Ring current = ring;
+    return (current.active != null) ? current.active.kid : current.hmac.kid;
+  }
+
+  /**
+   * 미리 직렬화한 JWK Set 과 ETag
+   * @param json JWK Set JSON
+   * @param etag JSON 의 SHA-256 으로 만든 strong ETag (따옴표 포함)
+   */
+  public record Jwks(String json, String etag) {
+  }
+
+  private static final class Ring {
+    private final HmacKey hmac;
+    private final List<HmacKey> retiredHmac; // 교체되어 검증용으로만 남은 공유 키
+    private final EcKey active;         // ES256 서명 키 (HS256 이면 null)
+    private final EcKey next;           // 다음 교체 때 활성화될 키 (미리 공개)
+    private final List<EcKey> retired;  // 검증용으로만 남은 키
+    private final Map<String, Key> verificationKeys;
+    private final Jwks jwks;
+
+    private Ring(HmacKey hmac, List<HmacKey> retiredHmac, EcKey active, EcKey next, List<EcKey> retired) {
+      this.hmac = hmac;
+      this.retiredHmac = retiredHmac;
+      this.active = active;
+      this.next = next;
+      this.retired = retired;
+
+      List<EcKey> published = new ArrayList<>();
+      if (active != null) {
+        published.add(active);
+        published.add(next);
+      }
+      published.addAll(retired);
+
+      Map<String, Key> keys = new HashMap<>();
+      if (active == null) { // ES256 에서는 공유 비밀 키로 서명한 토큰을 받지 않음
+        for (HmacKey key : retiredHmac) {
+          keys.put(key.kid, key.key);
+        }
+        keys.put(hmac.kid, hmac.key);
+      }
+      for (EcKey key : published) {
+        keys.put(key.kid, key.keyPair.getPublic());
+      }
+      this.verificationKeys = Map.copyOf(keys);
+      this.jwks = toJwks(published);
+    }
+
+    private static Jwks toJwks(List<EcKey> keys) {
+      StringBuilder json = new StringBuilder("{\"keys\":[");
+      for (int i = 0; i < keys.size(); i++) {
+        if (i > 0) {
+          json.append(',');
+        }
+        keys.get(i).appendJwk(json);
+      }
+      json.append("]}");
+      String body = json.toString();
+      return new Jwks(body, "\"" + base64Url(sha256(body.getBytes(StandardCharsets.UTF_8)), 16) + "\"");
+    }
+  }
+
+  /**
+   * 키 링 파일을 잠그고 읽은 내용을 update 로 바꿔 기록 (update 가 같은 객체를 돌려주면 기록하지 않음)
+   * 잠금은 같은 파일을 쓰는 다른 프로세스와의 동시 교체를 막는다.
+   */
+  private StoredKeys withStore(UnaryOperator<StoredKeys> update) {
+    Path lockFile = keyStore.resolveSibling(keyStore.getFileName() + ".lock");
+    try {
+      Path parent = keyStore.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (FileChannel lock = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+           FileLock ignored = lock.lock()) {
+        StoredKeys stored = Files.exists(keyStore) ? StoredKeys.read(keyStore) : null;
+        StoredKeys updated = update.apply(stored);
+        if (updated != stored) {
+          updated.write(keyStore);
+        }
+        return updated;
+      }
+    } catch (IOException | GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to access JWT key store " + keyStore, e);
+    }
+  }
+
+  /**
+   * 키 링 파일 내용 (활성 키, 다음 키, 검증용 키)
+   * 개인 키는 PKCS#8, 공개 키는 X.509 를 Base64 로 저장하며 파일은 소유자만 읽을 수 있게 만든다.
+   */
+  private record StoredKeys(EcKey active, EcKey next, List<EcKey> retired) {
+
+    Ring toRing(HmacKey hmac) {
+      return toRing(hmac, List.of());
+    }
+
+    Ring toRing(HmacKey hmac, List<HmacKey> retiredHmac) {
+      return new Ring(hmac, retiredHmac, active, next, retired);
+    }
+
+    static StoredKeys read(Path file) throws IOException, GeneralSecurityException {
+      Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      }
+      List<EcKey> retired = new ArrayList<>();
+      String retiredKids = properties.getProperty("retired", "");
+      for (String kid : retiredKids.split(",")) {
+        if (!kid.isEmpty()) {
+          retired.add(EcKey.read(properties, kid));
+        }
+      }
+      return new StoredKeys(EcKey.read(properties, properties.getProperty("active")),
+        EcKey.read(properties, properties.getProperty("next")), List.copyOf(retired));
+    }
+
+    void write(Path file) throws IOException {
+      Properties properties = new Properties();
+      properties.setProperty("active", active.kid);
+      properties.setProperty("next", next.kid);
+      StringJoiner retiredKids = new StringJoiner(",");
+      for (EcKey key : List.of(active, next)) {
+        key.write(properties);
+      }
+      for (EcKey key : retired) {
+        key.write(properties);
+        retiredKids.add(key.kid);
+      }
+      properties.setProperty("retired", retiredKids.toString());
+
+      // 임시 파일에 쓴 뒤 교체하므로 다른 노드가 쓰다 만 파일을 읽지 않음
+      Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        properties.store(writer, "JWT ES256 key ring");
+      }
+      try {
+        Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+      } catch (UnsupportedOperationException e) {
+        // POSIX 권한이 없는 파일 시스템
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+
+  private static final class HmacKey {
+    private final String kid;
+    private final SecretKey key;
+    private final long retiredAt;
+
+    private HmacKey(String kid, SecretKey key, long retiredAt) {
+      this.kid = kid;
+      this.key = key;
+      this.retiredAt = retiredAt;
+    }
+
+    private static HmacKey of(String secretKey) {
+      byte[] keyBytes = Base64.getDecoder().decode(secretKey);
+      // kid 로 비밀 키가 드러나지 않도록 해시 일부만 사용
+      return new HmacKey("hs-" + base64Url(sha256(keyBytes), 8), Keys.hmacShaKeyFor(keyBytes), 0L);
+    }
+
+    private HmacKey retire(long now) {
+      return new HmacKey(kid, key, now);
+    }
+  }
+
+  private static final class EcKey {
+    private final String kid;
+    private final KeyPair keyPair;
+    private final long retiredAt;
+
+    private EcKey(String kid, KeyPair keyPair, long retiredAt) {
+      this.kid = kid;
+      this.keyPair = keyPair;
+      this.retiredAt = retiredAt;
+    }
+
+    private static EcKey generate() {
+      KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+      return new EcKey("es-" + base64Url(sha256(keyPair.getPublic().getEncoded()), 8), keyPair, 0L);
+    }
+
+    private EcKey retire(long now) {
+      return new EcKey(kid, keyPair, now);
+    }
+
+    private static EcKey read(Properties properties, String kid) throws GeneralSecurityException {
+      String prefix = "key." + kid + ".";
+      String privateKey = properties.getProperty(prefix + "private");
+      String publicKey = properties.getProperty(prefix + "public");
+      if (kid == null || privateKey == null || publicKey == null) {
+        throw new GeneralSecurityException("Missing key entry: " + kid);
+      }
+      KeyFactory factory = KeyFactory.getInstance("EC");
+      KeyPair keyPair = new KeyPair(
+        factory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey))),
+        factory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey))));
+      return new EcKey(kid, keyPair, Long.parseLong(properties.getProperty(prefix + "retired-at", "0")));
+    }
+
+    private void write(Properties properties) {
+      String prefix = "key." + kid + ".";
+      properties.setProperty(prefix + "private", Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+      properties.setProperty(prefix + "public", Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+      properties.setProperty(prefix + "retired-at", Long.toString(retiredAt));
+    }
+
+    private void appendJwk(StringBuilder json) {
+      ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+      json.append("{\"kty\":\"EC\",\"crv\":\"P-256\",\"use\":\"sig\",\"alg\":\"ES256\",\"kid\":\"").append(kid)
+        .append("\",\"x\":\"").append(coordinate(publicKey.getW().getAffineX()))
+        .append("\",\"y\":\"").append(coordinate(publicKey.getW().getAffineY()))
+        .append("\"}");
+    }
+
+    // JWK 좌표는 32바이트 고정 길이 big-endian
+    private static String coordinate(BigInteger value) {
+      byte[] bytes = value.toByteArray();
+      byte[] fixed = new byte[32];
+      int length = Math.min(bytes.length, 32);
+      System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+  }
+
+  private static byte[] sha256(byte[] input) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(input);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String base64Url(byte[] bytes, int length) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, length));
+  }
+}
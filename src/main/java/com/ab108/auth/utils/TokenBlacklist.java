@@ -0,0 +1,141 @@
+package com.ab108.auth.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * jti(UUID) 기준 토큰 블랙리스트.
+ * 키는 토큰 문자열 대신 고정 크기의 UUID 를 사용하고, 만료 시각 순으로 정렬된 큐를 통해
+ * 만료된 항목을 주기적으로 제거하므로 메모리 사용량은 아직 유효한 폐기 토큰 수에 비례한다.
+ * 대부분의 조회는 폐기되지 않은 토큰이므로 Bloom filter 로 먼저 걸러내고, 통과한 경우에만 맵을 조회한다.
+ */
+@Component
+public class TokenBlacklist {
+
+  // jti -> 만료 시각 (epoch millis)
+  private final Map<UUID, Long> entries = new ConcurrentHashMap<>();
+
+  // 만료 시각 순 정리 큐 (로그아웃 시에만 쓰기 때문에 단순 잠금으로 충분)
+  private final PriorityQueue<Expiry> expiryQueue = new PriorityQueue<>();
+
+  private final RotatingBloomFilter filter;
+
+  private final LongAdder lookups = new LongAdder();
+  private final LongAdder filterPositives = new LongAdder();
+  private final LongAdder confirmedHits = new LongAdder();
+
+  public TokenBlacklist(
+    @Value("${jwt.expiration_time}") long accessTokenExpTime,
+    @Value("${jwt.blacklist.bloom.expected-insertions:100000}") int expectedInsertions,
+    @Value("${jwt.blacklist.bloom.fpp:0.01}") double fpp
+  ) {
+    this.filter = new RotatingBloomFilter(accessTokenExpTime, expectedInsertions, fpp);
+  }
+
+  /**
+   * 블랙리스트에 추가
+   * @param jti 토큰 식별자
+   * @param expirationTime 토큰 만료 시각 (epoch millis)
+   */
+  public void add(UUID jti, long expirationTime) {
+    if (entries.put(jti, expirationTime) == null) {
+      filter.put(jti, expirationTime);
+      synchronized (expiryQueue) {
+        expiryQueue.add(new Expiry(jti, expirationTime));
+      }
+    }
+  }
+
+  /**
+   * 블랙리스트 포함 여부 (만료된 항목은 포함되지 않은 것으로 본다)
+   * @param jti 토큰 식별자
+   * @param expirationTime 토큰 만료 시각 (Bloom filter 구간 선택에 사용)
+   * @param now 현재 시각
+   * @return 폐기된 토큰이면 true
+   */
+  public boolean contains(UUID jti, long expirationTime, long now) {
+    if (now > expirationTime) {
+      return false;
+    }
+    lookups.increment();
+    if (!filter.mightContain(jti, expirationTime)) {
+      return false;
+    }
+    filterPositives.increment();
+
+    Long stored = entries.get(jti);
+    if (stored != null && now <= stored) {
+      confirmedHits.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * 만료 시각이 지난 항목 제거
+   * @param now 현재 시각
+   * @return 제거된 항목 수
+   */
+  public int purgeExpired(long now) {
+    int removed = 0;
+    synchronized (expiryQueue) {
+      Expiry head;
+      while ((head = expiryQueue.peek()) != null && head.expirationTime < now) {
+        expiryQueue.poll();
+        if (entries.remove(head.jti, head.expirationTime)) {
+          removed++;
+        }
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * 아직 만료되지 않은 항목 순회 (스냅샷 작성용)
+   * @param now 현재 시각
+   * @param consumer (jti, 만료 시각) 소비자
+   */
+  public void forEachLive(long now, BiConsumer<UUID, Long> consumer) {
+    entries.forEach((jti, expirationTime) -> {
+      if (expirationTime >= now) {
+        consumer.accept(jti, expirationTime);
+      }
+    });
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * 관측된 Bloom filter 오탐률 (폐기되지 않은 토큰 조회 중 filter 를 통과한 비율)
+   * @return 0.0 ~ 1.0
+   */
+  public double getFalsePositiveRate() {
+    long confirmed = confirmedHits.sum();
+    long negatives = lookups.sum() - confirmed;
+    return negatives <= 0 ? 0.0 : (double) (filterPositives.sum() - confirmed) / negatives;
+  }
+
+  private static final class Expiry implements Comparable<Expiry> {
+    private final UUID jti;
+    private final long expirationTime;
+
+    private Expiry(UUID jti, long expirationTime) {
+      this.jti = jti;
+      this.expirationTime = expirationTime;
+    }
+
+    @Override
+    public int compareTo(Expiry other) {
+      return Long.compare(expirationTime, other.expirationTime);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.ab108.auth.utils;
+
+/**
+ * 예외 없이 토큰을 파싱한 결과.
+ * 실패 결과는 사유별로 미리 만들어 둔 인스턴스를 재사용하므로, 거절되는 토큰이 몰려도 결과 객체를 새로 만들지 않는다.
+ * @param status 파싱 결과 (성공이면 VALID, 만료 여부는 JwtUtil.checkToken 에서 확인)
+ * @param token 서명 검증을 통과한 토큰, 실패면 null
+ */
+public record TokenParseResult(TokenStatus status, VerifiedToken token) {
+
+  private static final TokenParseResult[] FAILURES = new TokenParseResult[TokenStatus.values().length];
+
+  static {
+    for (TokenStatus status : TokenStatus.values()) {
+      if (!status.isValid()) {
+        FAILURES[status.ordinal()] = new TokenParseResult(status, null);
+      }
+    }
+  }
+
+  static TokenParseResult success(VerifiedToken token) {
+    return new TokenParseResult(TokenStatus.VALID, token);
+  }
+
+  static TokenParseResult failure(TokenStatus status) {
+    return FAILURES[status.ordinal()];
+  }
+
+  public boolean isParsed() {
+    return token != null;
+  }
+}
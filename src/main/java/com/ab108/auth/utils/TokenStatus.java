@@ -0,0 +1,36 @@
+package com.ab108.auth.utils;
+
+import com.ab108.auth.metrics.AuthMetrics;
+
+/**
+ * 토큰 검증 결과. 예외 대신 이 값으로 거절 사유를 전달한다.
+ */
+public enum TokenStatus {
+  VALID(null, null),
+  MALFORMED("Invalid JWT Token", AuthMetrics.Rejection.MALFORMED_TOKEN),
+  INVALID_SIGNATURE("Invalid JWT Token", AuthMetrics.Rejection.INVALID_SIGNATURE),
+  UNSUPPORTED("Unsupported JWT Token", AuthMetrics.Rejection.UNSUPPORTED_TOKEN),
+  EXPIRED("Expired JWT Token", AuthMetrics.Rejection.EXPIRED_TOKEN),
+  BLACKLISTED("Expired JWT Token", AuthMetrics.Rejection.BLACKLISTED_TOKEN), // 폐기 여부를 드러내지 않음
+  INVALIDATED("Token issued before invalidate timestamp", AuthMetrics.Rejection.INVALIDATED_TOKEN);
+
+  private final String message;
+  private final AuthMetrics.Rejection rejection;
+
+  TokenStatus(String message, AuthMetrics.Rejection rejection) {
+    this.message = message;
+    this.rejection = rejection;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public AuthMetrics.Rejection getRejection() {
+    return rejection;
+  }
+
+  public boolean isValid() {
+    return this == VALID;
+  }
+}
@@ -0,0 +1,68 @@
+package com.ab108.auth.utils;
+
+import com.ab108.auth.entity.Authority;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 서명 검증을 마친 JWT 의 클레임을 한 번만 파싱해 담아두는 객체.
+ * 필터, 검증, 로그아웃 처리에서 같은 토큰을 다시 파싱하지 않도록 이 객체를 전달한다.
+ */
+@Getter
+public class VerifiedToken {
+
+  private final String token;
+  private final String subject;
+  private final Long userId;     // uid 클레임
+  private final long version;    // ver 클레임 (발급 시각, epoch millis 와 무효화 기준 시점 중 큰 값)
+  private final Authority role;
+  private final long issuedAt;   // 발급 시각 (epoch millis)
+  private final long expiration; // 만료 시각 (epoch millis)
+  private final UUID jti;        // 토큰 식별자 (블랙리스트 키, 파싱 시 한 번만 변환)
+
+  public VerifiedToken(String token, String subject, Long userId, long version, Authority role,
+                       long issuedAt, long expiration, UUID jti) {
+    this.token = token;
+    this.subject = subject;
+    this.userId = userId;
+    this.version = version;
+    this.role = role;
+    this.issuedAt = issuedAt;
+    this.expiration = expiration;
+    this.jti = jti;
+  }
+
+  /**
+   * 검증된 Claims 로부터 VerifiedToken 생성
+   * @param token 원본 토큰 문자열
+   * @param claims 서명 검증을 통과한 Claims
+   * @return VerifiedToken
+   * @throws IllegalArgumentException 필수 클레임 누락, UUID 형식이 아닌 jti
+   */
+  public static VerifiedToken of(String token, Claims claims) {
+    String role = claims.get("role", String.class);
+    Long userId = claims.get("uid", Long.class);
+    Long version = claims.get("ver", Long.class);
+    if (role == null || userId == null || version == null || claims.getId() == null
+      || claims.getIssuedAt() == null || claims.getExpiration() == null) {
+      throw new IllegalArgumentException("Invalid JWT Token: missing claims");
+    }
+
+    return new VerifiedToken(
+      token,
+      claims.getSubject(),
+      userId,
+      version,
+      Authority.valueOf(role),
+      claims.getIssuedAt().getTime(),
+      claims.getExpiration().getTime(),
+      UUID.fromString(claims.getId()) // 요청마다 다시 파싱하지 않도록 여기서 한 번만 변환
+    );
+  }
+
+  public boolean isExpired(long now) {
+    return now > expiration;
+  }
+}
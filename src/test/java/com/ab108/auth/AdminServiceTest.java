@@ -1,9 +1,14 @@
 package com.ab108.auth;
 
+import com.ab108.auth.cache.UserPrincipalCache;
+import com.ab108.auth.dto.LogCursor;
+import com.ab108.auth.dto.UserLogDailyCountResponse;
 import com.ab108.auth.dto.UserLogResponse;
-import com.ab108.auth.entity.UserLog;
+import com.ab108.auth.dto.UserLogSliceResponse;
+import com.ab108.auth.repository.UserLogDailyCountRepository;
 import com.ab108.auth.repository.UserLogRepository;
 import com.ab108.auth.service.AdminService;
+import com.ab108.auth.service.RefreshTokenService;
 import com.ab108.auth.utils.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,13 +19,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class AdminServiceTest {
@@ -28,9 +38,18 @@ class AdminServiceTest {
   @Mock
   private UserLogRepository userLogRepository;
 
+  @Mock
+  private UserLogDailyCountRepository dailyCountRepository;
+
   @Mock
   private JwtUtil jwtUtil;
 
+  @Mock
+  private UserPrincipalCache userPrincipalCache;
+
+  @Mock
+  private RefreshTokenService refreshTokenService;
+
   @InjectMocks
   private AdminService adminService;
 
@@ -48,12 +67,12 @@ class AdminServiceTest {
     String logType = "LOGIN_SUCCESS";
     Pageable pageable = PageRequest.of(0, 10);
 
-    List<UserLog> logList = Arrays.asList(
-      new UserLog(null, logType, startDate.plusHours(1), "Log message 1"),
-      new UserLog(null, logType, startDate.plusHours(2), "Log message 2")
+    List<UserLogResponse> logList = Arrays.asList(
+      new UserLogResponse(1L, logType, startDate.plusHours(1), "Log message 1"),
+      new UserLogResponse(2L, logType, startDate.plusHours(2), "Log message 2")
     );
 
-    Page<UserLog> logsPage = new PageImpl<>(logList, pageable, logList.size());
+    Page<UserLogResponse> logsPage = new PageImpl<>(logList, pageable, logList.size());
     when(userLogRepository.findLogsByFilters(userId, startDate, endDate, logType, pageable)).thenReturn(logsPage);
 
     // When
@@ -68,6 +87,62 @@ class AdminServiceTest {
     verify(userLogRepository, times(1)).findLogsByFilters(userId, startDate, endDate, logType, pageable);
   }
 
+  @Test
+  void testGetUserLogsByCursor_ReturnsNextCursor() {
+    // Given
+    Long userId = 1L;
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+    UserLogResponse newer = new UserLogResponse(20L, "LOGIN_SUCCESS", base.plusMinutes(1), "Log message 2");
+    UserLogResponse older = new UserLogResponse(10L, "LOGIN_SUCCESS", base, "Log message 1");
+
+    Slice<UserLogResponse> slice = new SliceImpl<>(List.of(newer, older), PageRequest.of(0, 2), true);
+    when(userLogRepository.findLogsByCursor(userId, null, null, null, null, 2)).thenReturn(slice);
+
+    // When
+    UserLogSliceResponse result = adminService.getUserLogsByCursor(userId, null, null, null, null, 2);
+
+    // Then
+    assertTrue(result.isHasNext());
+    assertEquals(2, result.getContent().size());
+    LogCursor next = LogCursor.decode(result.getNextCursor());
+    assertEquals(base, next.getTimestamp());
+    assertEquals(10L, next.getId());
+    verify(userLogRepository, never()).findLogsByFilters(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void testGetUserLogsByCursor_InvalidCursor() {
+    // When / Then
+    assertThrows(IllegalArgumentException.class,
+      () -> adminService.getUserLogsByCursor(1L, null, null, null, "not-a-cursor", 10));
+  }
+
+  @Test
+  void testGetDailyCounts_ReturnsRollups() {
+    // Given
+    LocalDate start = LocalDate.of(2024, 1, 1);
+    LocalDate end = LocalDate.of(2024, 1, 31);
+    List<UserLogDailyCountResponse> counts = List.of(
+      new UserLogDailyCountResponse(start, "LOGIN_FAILURE", 3),
+      new UserLogDailyCountResponse(start, "LOGIN_SUCCESS", 1)
+    );
+    when(dailyCountRepository.findDailyCounts(1L, start, end)).thenReturn(counts);
+
+    // When
+    List<UserLogDailyCountResponse> result = adminService.getDailyCounts(1L, start, end);
+
+    // Then
+    assertEquals(counts, result);
+    verifyNoInteractions(userLogRepository);
+  }
+
+  @Test
+  void testGetDailyCounts_InvalidRange() {
+    // When / Then
+    assertThrows(IllegalArgumentException.class,
+      () -> adminService.getDailyCounts(1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+  }
+
   @Test
   void testExpireUserTokens_Success() {
     // Given
@@ -78,5 +153,7 @@ class AdminServiceTest {
 
     // Then
     verify(jwtUtil, times(1)).expireUserTokens(userId);
+    verify(refreshTokenService, times(1)).revokeAll(userId);
+    verify(userPrincipalCache, times(1)).invalidateUser(userId);
   }
 }
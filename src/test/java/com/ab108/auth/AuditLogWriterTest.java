@@ -0,0 +1,222 @@
+package com.ab108.auth;
+
+import com.ab108.auth.audit.AuditLogWriter;
+import com.ab108.auth.audit.AuditRecord;
+import com.ab108.auth.audit.BackpressurePolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.ab108.auth.repository.UserLogDailyCountRepository;
+import com.ab108.auth.repository.UserLogRepository;
+import com.ab108.auth.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditLogWriterTest {
+
+  @TempDir
+  Path directory;
+
+  private AuditRecord record(String message) {
+    return new AuditRecord(1L, "LOGIN_SUCCESS", LocalDateTime.now(), message);
+  }
+
+  @Test
+  void testAppend_DropOldestWhenQueueIsFull() {
+    // Given
+    UserLogRepository userLogRepository = mock(UserLogRepository.class);
+    AuditLogWriter writer = new AuditLogWriter(userLogRepository, mock(UserLogDailyCountRepository.class),
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 2, 100, BackpressurePolicy.DROP_OLDEST,
+      directory.resolve("spill.bin").toString());
+
+    // When (writer 스레드를 시작하지 않아 큐가 비워지지 않음)
+    writer.append(record("1"));
+    writer.append(record("2"));
+    writer.append(record("3"));
+
+    // Then
+    assertEquals(2, writer.getQueueDepth());
+    assertEquals(1, writer.getDroppedCount());
+    verifyNoInteractions(userLogRepository);
+  }
+
+  @Test
+  void testStart_FlushesQueuedAndSpilledRecordsInBatches() throws Exception {
+    // Given
+    UserLogRepository userLogRepository = mock(UserLogRepository.class);
+    AuditLogWriter writer = new AuditLogWriter(userLogRepository, mock(UserLogDailyCountRepository.class),
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 2, 100, BackpressurePolicy.SPILL,
+      directory.resolve("spill.bin").toString());
+    for (int i = 0; i < 5; i++) {
+      writer.append(record(String.valueOf(i)));
+    }
+    assertEquals(3, writer.getSpilledCount());
+
+    // When
+    writer.start();
+    writer.stop();
+
+    // Then
+    verify(userLogRepository, atLeast(2)).saveAll(anyList());
+    assertEquals(5, writer.getWrittenCount());
+    assertEquals(0, writer.getDroppedCount());
+  }
+
+  @Test
+  void testFlush_AggregatesDailyCountsPerUserAndType() throws Exception {
+    // Given
+    UserLogDailyCountRepository dailyCountRepository = mock(UserLogDailyCountRepository.class);
+    AuditLogWriter writer = new AuditLogWriter(mock(UserLogRepository.class), dailyCountRepository,
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 16, 100, BackpressurePolicy.BLOCK,
+      directory.resolve("spill.bin").toString());
+    LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+    writer.append(new AuditRecord(1L, "LOGIN_SUCCESS", now, null));
+    writer.append(new AuditRecord(1L, "LOGIN_SUCCESS", now.plusMinutes(1), null));
+    writer.append(new AuditRecord(1L, "LOGOUT", now.plusMinutes(2), null));
+    writer.append(new AuditRecord(null, "LOGIN_FAILURE", now, null));
+
+    // When
+    writer.start();
+    writer.stop();
+
+    // Then
+    verify(dailyCountRepository).upsert(1L, now.toLocalDate(), "LOGIN_SUCCESS", 2L);
+    verify(dailyCountRepository).upsert(1L, now.toLocalDate(), "LOGOUT", 1L);
+    verify(dailyCountRepository, never()).upsert(isNull(), any(), any(), anyLong());
+  }
+
+  @Test
+  void testFlush_RetriesRollupOnConcurrentInsert() throws Exception {
+    // Given (다른 writer 가 같은 집계 행을 먼저 만들어 첫 시도가 유니크 제약에 걸림)
+    UserLogDailyCountRepository dailyCountRepository = mock(UserLogDailyCountRepository.class);
+    when(dailyCountRepository.upsert(anyLong(), any(), anyString(), anyLong()))
+      .thenThrow(new DataIntegrityViolationException("uk_user_log_daily_counts"))
+      .thenReturn(1);
+    AuditLogWriter writer = new AuditLogWriter(mock(UserLogRepository.class), dailyCountRepository,
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 16, 100, BackpressurePolicy.BLOCK,
+      directory.resolve("spill.bin").toString());
+    writer.append(record("1"));
+
+    // When
+    writer.start();
+    writer.stop();
+
+    // Then
+    verify(dailyCountRepository, times(2)).upsert(anyLong(), any(), anyString(), anyLong());
+    assertEquals(1, writer.getWrittenCount());
+    assertEquals(0, writer.getRollupFailedCount());
+  }
+
+  @Test
+  void testFlush_RollupFailureKeepsWrittenLogs() throws Exception {
+    // Given
+    UserLogRepository userLogRepository = mock(UserLogRepository.class);
+    UserLogDailyCountRepository dailyCountRepository = mock(UserLogDailyCountRepository.class);
+    when(dailyCountRepository.upsert(anyLong(), any(), anyString(), anyLong()))
+      .thenThrow(new DataIntegrityViolationException("uk_user_log_daily_counts"));
+    AuditLogWriter writer = new AuditLogWriter(userLogRepository, dailyCountRepository,
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 16, 100, BackpressurePolicy.BLOCK,
+      directory.resolve("spill.bin").toString());
+    writer.append(record("1"));
+    writer.append(record("2"));
+
+    // When
+    writer.start();
+    writer.stop();
+
+    // Then (로그 배치는 실패로 세지 않고 집계만 실패로 남음)
+    verify(userLogRepository).saveAll(anyList());
+    assertEquals(2, writer.getWrittenCount());
+    assertEquals(0, writer.getFailedCount());
+    assertEquals(1, writer.getRollupFailedCount());
+  }
+
+  @Test
+  void testFlush_FailedBatchIsSpilledAndRetried() throws Exception {
+    // Given (첫 저장이 실패)
+    UserLogRepository userLogRepository = mock(UserLogRepository.class);
+    when(userLogRepository.saveAll(anyList()))
+      .thenThrow(new RuntimeException("connection refused"))
+      .thenReturn(List.of());
+    AuditLogWriter writer = new AuditLogWriter(userLogRepository, mock(UserLogDailyCountRepository.class),
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 16, 100, BackpressurePolicy.BLOCK,
+      directory.resolve("spill.bin").toString());
+    writer.append(record("1"));
+    writer.append(record("2"));
+
+    // When
+    writer.start();
+    writer.stop();
+
+    // Then (실패한 묶음은 spill 파일을 거쳐 다시 저장되고 파일은 지워짐)
+    verify(userLogRepository, times(2)).saveAll(anyList());
+    assertEquals(2, writer.getFailedCount());
+    assertEquals(2, writer.getWrittenCount());
+    assertFalse(Files.exists(directory.resolve("spill.bin.processing")));
+  }
+
+  @Test
+  void testDrainSpill_KeepsUncommittedRecordsUntilWritten() throws Exception {
+    // Given (큐의 첫 묶음은 저장되고, 그 뒤로 DB 가 계속 실패)
+    String spillPath = directory.resolve("spill.bin").toString();
+    UserLogRepository failing = mock(UserLogRepository.class);
+    when(failing.saveAll(anyList()))
+      .thenReturn(List.of())
+      .thenThrow(new RuntimeException("connection refused"));
+    AuditLogWriter writer = new AuditLogWriter(failing, mock(UserLogDailyCountRepository.class),
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 2, 2, BackpressurePolicy.SPILL, spillPath);
+    for (int i = 0; i < 5; i++) {
+      writer.append(record(String.valueOf(i))); // 2 건은 큐, 3 건은 spill
+    }
+
+    // When
+    writer.start();
+    writer.stop();
+
+    UserLogRepository recovered = mock(UserLogRepository.class);
+    AuditLogWriter restarted = new AuditLogWriter(recovered, mock(UserLogDailyCountRepository.class),
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 2, 2, BackpressurePolicy.SPILL, spillPath);
+    restarted.start();
+    restarted.stop();
+
+    // Then (spill 된 3 건은 실패해도 지워지지 않고, 재시작 후 중복 없이 저장됨)
+    assertEquals(2, writer.getWrittenCount());
+    assertEquals(3, restarted.getWrittenCount());
+    assertFalse(Files.exists(directory.resolve("spill.bin.processing")));
+  }
+
+  @Test
+  void testAppend_AfterStopSpillsInsteadOfBlocking() throws Exception {
+    // Given
+    String spillPath = directory.resolve("spill.bin").toString();
+    AuditLogWriter writer = new AuditLogWriter(mock(UserLogRepository.class), mock(UserLogDailyCountRepository.class),
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 2, 100, BackpressurePolicy.BLOCK, spillPath);
+    writer.start();
+    writer.stop();
+
+    // When (종료 중 들어온 로그, BLOCK 이어도 기다리지 않음)
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      for (int i = 0; i < 3; i++) {
+        writer.append(record(String.valueOf(i)));
+      }
+    });
+
+    AuditLogWriter restarted = new AuditLogWriter(mock(UserLogRepository.class), mock(UserLogDailyCountRepository.class),
+      mock(UserRepository.class), mock(PlatformTransactionManager.class), 2, 100, BackpressurePolicy.BLOCK, spillPath);
+    restarted.start();
+    restarted.stop();
+
+    // Then
+    assertEquals(3, writer.getSpilledCount());
+    assertEquals(3, restarted.getWrittenCount());
+  }
+}
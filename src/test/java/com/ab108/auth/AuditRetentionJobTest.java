@@ -0,0 +1,54 @@
+package com.ab108.auth;
+
+import com.ab108.auth.audit.AuditRetentionJob;
+import com.ab108.auth.repository.UserLogDailyCountRepository;
+import com.ab108.auth.repository.UserLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuditRetentionJobTest {
+
+  private final UserLogRepository userLogRepository = mock(UserLogRepository.class);
+  private final UserLogDailyCountRepository dailyCountRepository = mock(UserLogDailyCountRepository.class);
+
+  @Test
+  void testPurgeExpired_DeletesWholeDaysBeforeCutoff() {
+    // Given
+    AuditRetentionJob job = new AuditRetentionJob(userLogRepository, dailyCountRepository,
+      mock(PlatformTransactionManager.class), 30, 365);
+    LocalDate today = LocalDate.of(2024, 3, 31);
+    when(userLogRepository.findOldestLogDate()).thenReturn(LocalDate.of(2024, 2, 27));
+
+    // When
+    int purged = job.purgeExpired(today);
+
+    // Then (cutoff 2024-03-01: 02-27, 02-28, 02-29)
+    assertEquals(3, purged);
+    verify(userLogRepository).deleteByLogDate(LocalDate.of(2024, 2, 27));
+    verify(userLogRepository).deleteByLogDate(LocalDate.of(2024, 2, 29));
+    verify(userLogRepository, never()).deleteByLogDate(LocalDate.of(2024, 3, 1));
+    verify(dailyCountRepository).deleteOlderThan(today.minusDays(365));
+  }
+
+  @Test
+  void testPurgeExpired_NothingToDelete() {
+    // Given
+    AuditRetentionJob job = new AuditRetentionJob(userLogRepository, dailyCountRepository,
+      mock(PlatformTransactionManager.class), 30, 0);
+    when(userLogRepository.findOldestLogDate()).thenReturn(null);
+
+    // When
+    int purged = job.purgeExpired(LocalDate.of(2024, 3, 31));
+
+    // Then
+    assertEquals(0, purged);
+    verify(userLogRepository, never()).deleteByLogDate(any());
+    verifyNoInteractions(dailyCountRepository);
+  }
+}
@@ -0,0 +1,113 @@
+package com.ab108.auth;
+
+import com.ab108.auth.crypto.BCryptCalibrator;
+import com.ab108.auth.crypto.BoundedPasswordEncoder;
+import com.ab108.auth.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+  @Test
+  void testEncodeAndMatches_OnExecutor() {
+    // Given
+    try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 5000)) {
+      // When
+      String hash = encoder.encode("password123");
+
+      // Then
+      assertTrue(encoder.matches("password123", hash));
+      assertFalse(encoder.matches("wrong", hash));
+    }
+  }
+
+  @Test
+  void testEncode_RejectsWhenQueueIsFull() throws Exception {
+    // Given (스레드 1개, 대기열 1개, 해싱이 latch 에서 멈춰 있음)
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    PasswordEncoder blocking = new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return rawPassword.toString();
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return rawPassword.toString().equals(encodedPassword);
+      }
+    };
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5000)) {
+      callers.submit(() -> encoder.encode("running"));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      callers.submit(() -> encoder.encode("queued"));
+      while (encoder.getQueueDepth() < 1) {
+        Thread.onSpinWait();
+      }
+
+      // When / Then
+      assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("rejected"));
+      assertEquals(1, encoder.getRejectedCount());
+    } finally {
+      release.countDown();
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  void testMatches_TimesOut() {
+    // Given
+    PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        try {
+          Thread.sleep(1000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return true;
+      }
+    };
+    try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, 50)) {
+      // When / Then
+      assertThrows(PasswordHashingRejectedException.class, () -> encoder.matches("password123", "hash"));
+    }
+  }
+
+  @Test
+  void testUpgradeEncoding_WhenStoredCostIsLower() {
+    // Given
+    String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+    String currentHash = new BCryptPasswordEncoder(5).encode("password123");
+
+    try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, 5000)) {
+      // When / Then
+      assertTrue(encoder.upgradeEncoding(weakHash));
+      assertFalse(encoder.upgradeEncoding(currentHash));
+    }
+  }
+
+  @Test
+  void testCalibrate_StaysWithinBounds() {
+    // When
+    int strength = BCryptCalibrator.calibrate(20, 4, 8);
+
+    // Then
+    assertTrue(strength >= 4 && strength <= 8);
+  }
+}
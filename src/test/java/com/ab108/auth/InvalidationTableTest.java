@@ -0,0 +1,60 @@
+package com.ab108.auth;
+
+import com.ab108.auth.utils.InvalidationTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationTableTest {
+
+  @Test
+  void testAdvance_IsMonotonicWithinSameMillisecond() {
+    // Given
+    InvalidationTable table = new InvalidationTable();
+
+    // When
+    long first = table.advance(1L, 1_000L);
+    long second = table.advance(1L, 1_000L);
+
+    // Then
+    assertEquals(1_000L, first);
+    assertEquals(1_001L, second);
+    assertEquals(1_001L, table.get(1L));
+    assertEquals(0L, table.get(2L));
+  }
+
+  @Test
+  void testAdvance_GrowsBeyondInitialCapacity() {
+    // Given
+    InvalidationTable table = new InvalidationTable();
+
+    // When
+    for (long userId = 1; userId <= 10_000; userId++) {
+      table.advance(userId, userId);
+    }
+
+    // Then
+    assertEquals(10_000, table.size());
+    for (long userId = 1; userId <= 10_000; userId++) {
+      assertEquals(userId, table.get(userId));
+    }
+  }
+
+  @Test
+  void testPrune_RemovesEntriesOlderThanCutoff() {
+    // Given
+    InvalidationTable table = new InvalidationTable();
+    for (long userId = 1; userId <= 1_000; userId++) {
+      table.advance(userId, userId);
+    }
+
+    // When
+    int removed = table.prune(501L);
+
+    // Then
+    assertEquals(500, removed);
+    assertEquals(500, table.size());
+    assertEquals(0L, table.get(500L));
+    assertEquals(501L, table.get(501L));
+  }
+}
@@ -0,0 +1,198 @@
+package com.ab108.auth;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.revocation.LoopbackRevocationEventBus;
+import com.ab108.auth.revocation.NoOpRevocationStore;
+import com.ab108.auth.revocation.RevocationPublisher;
+import com.ab108.auth.utils.InvalidationTable;
+import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.SigningKeyRing;
+import com.ab108.auth.utils.TokenBlacklist;
+import com.ab108.auth.utils.TokenParseResult;
+import com.ab108.auth.utils.TokenStatus;
+import com.ab108.auth.utils.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+  private static final String SECRET = "VlwEyVBsYt9V7zq57TejMnVUyzblYcfPQye08f7MGVA9XkHa";
+
+  private SimpleMeterRegistry registry;
+  private JwtUtil jwtUtil;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    jwtUtil = new JwtUtil(new SigningKeyRing(SECRET, "HS256", 3600000, null), 3600000,
+      new TokenBlacklist(3600000, 1000, 0.01), new InvalidationTable(),
+      new RevocationPublisher(new LoopbackRevocationEventBus(), 512), new NoOpRevocationStore(),
+      new AuthMetrics(registry));
+  }
+
+  @Test
+  void testParseToken_ExtractsClaimsOnce() {
+    // Given
+    String token = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // When
+    VerifiedToken verified = jwtUtil.parseToken(token);
+
+    // Then
+    assertEquals("test@example.com", verified.getSubject());
+    assertEquals(1L, verified.getUserId());
+    assertTrue(verified.getVersion() >= verified.getIssuedAt()); // 발급 시각 (iat 는 초 단위로 잘림)
+    assertEquals(Authority.ROLE_USER, verified.getRole());
+    assertTrue(verified.getExpiration() > verified.getIssuedAt());
+  }
+
+  @Test
+  void testValidateToken_Success() {
+    // Given
+    String email = "test@example.com";
+    VerifiedToken verified = jwtUtil.parseToken(jwtUtil.createAccessToken(1L, email, Authority.ROLE_USER));
+
+    // When
+    boolean valid = jwtUtil.validateToken(verified);
+    Authentication authentication = jwtUtil.getAuthentication(verified);
+
+    // Then
+    assertTrue(valid);
+    assertEquals(email, authentication.getPrincipal());
+    assertSame(verified, authentication.getCredentials()); // 로그아웃에서 다시 검증하지 않도록 전달
+    assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+  }
+
+  @Test
+  void testValidateToken_Blacklisted() {
+    // Given
+    String token = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+    VerifiedToken verified = jwtUtil.parseToken(token);
+    jwtUtil.addToBlacklist(verified.getJti(), verified.getExpiration());
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.validateToken(verified));
+  }
+
+  @Test
+  void testValidateToken_InvalidatedByExpireUserTokens() {
+    // Given
+    VerifiedToken before = jwtUtil.parseToken(jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+    jwtUtil.expireUserTokens(1L);
+    VerifiedToken after = jwtUtil.parseToken(jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.validateToken(before));
+    assertTrue(jwtUtil.validateToken(after));
+  }
+
+  @Test
+  void testParseToken_InvalidSignature() {
+    // Given
+    String token = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.parseToken(tampered));
+  }
+
+  @Test
+  void testCheckToken_ReturnsStatusInsteadOfThrowing() {
+    // Given
+    VerifiedToken blacklisted = jwtUtil.parseToken(jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+    jwtUtil.addToBlacklist(blacklisted.getJti(), blacklisted.getExpiration());
+    VerifiedToken invalidated = jwtUtil.parseToken(jwtUtil.createAccessToken(2L, "other@example.com", Authority.ROLE_USER));
+    jwtUtil.expireUserTokens(2L);
+    VerifiedToken valid = jwtUtil.parseToken(jwtUtil.createAccessToken(3L, "valid@example.com", Authority.ROLE_USER));
+
+    // When / Then
+    assertEquals(TokenStatus.BLACKLISTED, jwtUtil.checkToken(blacklisted));
+    assertEquals(TokenStatus.INVALIDATED, jwtUtil.checkToken(invalidated));
+    assertEquals(TokenStatus.VALID, jwtUtil.checkToken(valid));
+  }
+
+  @Test
+  void testTryParseToken_ExpiredTokenParsedThenRejected() {
+    // Given
+    JwtUtil expiring = new JwtUtil(new SigningKeyRing(SECRET, "HS256", -1000, null), -1000,
+      new TokenBlacklist(3600000, 1000, 0.01), new InvalidationTable(),
+      new RevocationPublisher(new LoopbackRevocationEventBus(), 512), new NoOpRevocationStore(),
+      new AuthMetrics(registry));
+    String token = expiring.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // When
+    TokenParseResult result = expiring.tryParseToken(token);
+
+    // Then
+    assertTrue(result.isParsed());
+    assertEquals(TokenStatus.EXPIRED, expiring.checkToken(result.token()));
+  }
+
+  @Test
+  void testTryParseToken_NonUuidJtiRejectedAsMalformed() {
+    // Given (서명은 유효하지만 jti 가 UUID 형식이 아닌 토큰)
+    String token = Jwts.builder()
+      .setId("not-a-uuid")
+      .setSubject("test@example.com")
+      .claim("uid", 1L)
+      .claim("ver", 0L)
+      .claim("role", Authority.ROLE_USER.name())
+      .setIssuedAt(new Date())
+      .setExpiration(new Date(System.currentTimeMillis() + 60000))
+      .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)), SignatureAlgorithm.HS256)
+      .compact();
+
+    // When
+    TokenParseResult result = jwtUtil.tryParseToken(token);
+
+    // Then
+    assertFalse(result.isParsed());
+    assertEquals(TokenStatus.MALFORMED, result.status());
+  }
+
+  @Test
+  void testTryParseToken_InvalidSignatureSharesFailureResult() {
+    // Given
+    String token = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+    // When
+    TokenParseResult first = jwtUtil.tryParseToken(tampered);
+    TokenParseResult second = jwtUtil.tryParseToken(tampered);
+
+    // Then
+    assertFalse(first.isParsed());
+    assertEquals(TokenStatus.INVALID_SIGNATURE, first.status());
+    assertSame(first, second); // 거절 결과는 새로 만들지 않음
+  }
+
+  @Test
+  void testMetrics_StageTimersAndRejectionReasons() {
+    // Given
+    VerifiedToken verified = jwtUtil.parseToken(jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+    jwtUtil.addToBlacklist(verified.getJti(), verified.getExpiration());
+
+    // When
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.validateToken(verified));
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.parseToken("not.a.token"));
+
+    // Then
+    assertEquals(1, registry.get("auth.stage").tag("stage", "token_parse").timer().count());
+    assertEquals(1, registry.get("auth.stage").tag("stage", "blacklist_check").timer().count());
+    assertEquals(1.0, registry.get("auth.rejections").tag("reason", "blacklisted_token").counter().count());
+    assertEquals(0.0, registry.get("auth.rejections").tag("reason", "invalidated_token").counter().count());
+    assertEquals(1.0, registry.get("auth.rejections").tag("reason", "malformed_token").counter().count()
+      + registry.get("auth.rejections").tag("reason", "invalid_signature").counter().count());
+  }
+}
@@ -0,0 +1,247 @@
+package com.ab108.auth;
+
+import com.ab108.auth.audit.AuditLogWriter;
+import com.ab108.auth.cache.UserPrincipalCache;
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.entity.User;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.exception.TooManyLoginAttemptsException;
+import com.ab108.auth.ratelimit.LoginAttemptLimiter;
+import com.ab108.auth.repository.UserRepository;
+import com.ab108.auth.service.RefreshTokenService;
+import com.ab108.auth.service.UserService;
+import com.ab108.auth.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LoginAttemptLimiterTest {
+
+  private static LoginAttemptLimiter limiter(int maxKeys) {
+    // 이메일 5회, IP 20회 (분당 동일 수 충전), 이메일은 5회 연속 실패 시 1분부터 두 배씩 잠금, IP 는 잠그지 않음
+    return new LoginAttemptLimiter(maxKeys, 5, 5, 20, 20, 0, 5, 60000, 3600000);
+  }
+
+  @Test
+  void testTryAcquire_EmailBucketEmptiesAndRefills() {
+    // Given
+    LoginAttemptLimiter limiter = limiter(1000);
+    long now = 1_000_000;
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, limiter.tryAcquire("user@example.com", "10.0.0." + i, now));
+    }
+
+    // When
+    long wait = limiter.tryAcquire("USER@example.com ", "10.0.0.9", now);
+
+    // Then (분당 5개 충전 → 토큰 하나에 12초)
+    assertEquals(12000, wait);
+    assertEquals(0, limiter.tryAcquire("user@example.com", "10.0.0.9", now + 12000));
+    assertEquals(1, limiter.getRejectedCount());
+  }
+
+  @Test
+  void testRecordFailure_ProgressiveLockout() {
+    // Given
+    LoginAttemptLimiter limiter = new LoginAttemptLimiter(1000, 100, 100, 100, 100, 0, 3, 1000, 5000);
+    long now = 1_000_000;
+
+    // When / Then
+    limiter.recordFailure("user@example.com", null, now);
+    limiter.recordFailure("user@example.com", null, now);
+    assertEquals(0, limiter.tryAcquire("user@example.com", null, now));
+
+    limiter.recordFailure("user@example.com", null, now);
+    assertEquals(1000, limiter.tryAcquire("user@example.com", null, now));
+
+    limiter.recordFailure("user@example.com", null, now);
+    assertEquals(2000, limiter.tryAcquire("user@example.com", null, now));
+
+    limiter.recordFailure("user@example.com", null, now);
+    limiter.recordFailure("user@example.com", null, now);
+    assertEquals(5000, limiter.tryAcquire("user@example.com", null, now)); // 최대 잠금 시간
+
+    limiter.recordSuccess("user@example.com", null, now);
+    assertEquals(0, limiter.tryAcquire("user@example.com", null, now));
+  }
+
+  @Test
+  void testRecordFailure_IpFailuresExpireAfterMaxLockout() {
+    // Given (IP 잠금을 켠 경우, 공유 IP 에서 서로 다른 사용자가 가끔 실패)
+    LoginAttemptLimiter limiter = new LoginAttemptLimiter(1000, 100, 100, 100, 100, 3, 3, 1000, 5000);
+    long now = 1_000_000;
+    for (int i = 0; i < 3; i++) {
+      limiter.recordFailure("user" + i + "@example.com", "10.0.0.1", now);
+    }
+    assertEquals(1000, limiter.tryAcquire("other@example.com", "10.0.0.1", now));
+
+    // When (최대 잠금 시간보다 오래 지난 뒤의 실패)
+    long later = now + 5001;
+    limiter.recordFailure("user9@example.com", "10.0.0.1", later);
+
+    // Then (누적 실패가 초기화되어 다시 잠기지 않음)
+    assertEquals(0, limiter.tryAcquire("other@example.com", "10.0.0.1", later));
+  }
+
+  @Test
+  void testTrackedKeys_EvictionKeepsLockedBuckets() {
+    // Given (stripe 당 키 1개)
+    LoginAttemptLimiter limiter = new LoginAttemptLimiter(64, 100, 100, 100, 100, 0, 3, 60000, 60000);
+    long now = 1_000_000;
+    for (int i = 0; i < 3; i++) {
+      limiter.recordFailure("victim@example.com", null, now);
+    }
+
+    // When (다른 이메일을 대량으로 만들어 LRU 에서 밀어냄)
+    for (int i = 0; i < 10_000; i++) {
+      limiter.tryAcquire("noise" + i + "@example.com", null, now);
+    }
+
+    // Then
+    assertEquals(60000, limiter.tryAcquire("victim@example.com", null, now));
+  }
+
+  @Test
+  void testTryAcquire_IpRejectionRefundsEmailToken() {
+    // Given
+    LoginAttemptLimiter limiter = new LoginAttemptLimiter(1000, 1, 1, 1, 1, 0, 100, 1000, 1000);
+    long now = 1_000_000;
+    assertEquals(0, limiter.tryAcquire("a@example.com", "10.0.0.1", now));
+
+    // When (IP 버킷이 비어 거절)
+    assertTrue(limiter.tryAcquire("b@example.com", "10.0.0.1", now) > 0);
+
+    // Then (b 의 이메일 토큰은 소비되지 않음)
+    assertEquals(0, limiter.tryAcquire("b@example.com", "10.0.0.2", now));
+  }
+
+  @Test
+  void testSharedIp_TyposFromOthersDoNotLockEveryone() {
+    // Given (로드밸런서 / NAT 뒤에서 여러 사용자가 같은 IP 로 보임)
+    LoginAttemptLimiter limiter = limiter(1000);
+    String sharedIp = "203.0.113.7";
+    long now = 1_000_000;
+
+    // When (1 분 동안 사용자 200 명이 로그인하고, 그중 10 명은 한 번씩 오타를 냄)
+    int allowed = 0;
+    for (int i = 0; i < 200; i++) {
+      long at = now + i * 300L;
+      String email = "user" + i + "@example.com";
+      if (i % 20 == 0) {
+        assertEquals(0, limiter.tryAcquire(email, sharedIp, at));
+        limiter.recordFailure(email, sharedIp, at);
+      }
+      if (limiter.tryAcquire(email, sharedIp, at) == 0) {
+        allowed++;
+        limiter.recordSuccess(email, sharedIp, at);
+      }
+    }
+
+    // Then (IP 가 잠기지 않고, 성공한 시도는 IP 한도를 소비하지 않음)
+    assertEquals(200, allowed);
+    assertEquals(0, limiter.tryAcquire("late@example.com", sharedIp, now + 60_000));
+  }
+
+  @Test
+  void testSharedIp_FailuresOnlyThrottled() {
+    // Given
+    LoginAttemptLimiter limiter = limiter(1000);
+    String sharedIp = "203.0.113.7";
+    long now = 1_000_000;
+
+    // When (한 IP 에서 서로 다른 계정으로 계속 실패)
+    for (int i = 0; i < 20; i++) {
+      assertEquals(0, limiter.tryAcquire("guess" + i + "@example.com", sharedIp, now));
+      limiter.recordFailure("guess" + i + "@example.com", sharedIp, now);
+    }
+
+    // Then (버킷이 빈 동안만 거절되고 잠금 시간이 늘어나지 않음, 분당 20회 → 3 초에 하나)
+    assertEquals(3000, limiter.tryAcquire("user@example.com", sharedIp, now));
+    assertEquals(0, limiter.tryAcquire("user@example.com", sharedIp, now + 3000));
+  }
+
+  @Test
+  void testTrackedKeys_Bounded() {
+    // Given
+    LoginAttemptLimiter limiter = limiter(6400);
+
+    // When
+    for (int i = 0; i < 100_000; i++) {
+      limiter.tryAcquire("user" + i + "@example.com", "10.0." + (i >> 8 & 255) + "." + (i & 255), 1_000_000);
+    }
+
+    // Then (stripe 64개 × stripe 당 100개, 이메일/IP 테이블 각각)
+    assertTrue(limiter.getTrackedKeys() <= 2 * 6400);
+  }
+
+  @Test
+  void testLogin_CpuStaysFlatUnderAttack() {
+    // Given
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+    AtomicInteger hashes = new AtomicInteger();
+    BCryptPasswordEncoder countingEncoder = new BCryptPasswordEncoder(10) {
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        hashes.incrementAndGet();
+        return super.matches(rawPassword, encodedPassword);
+      }
+    };
+    User user = User.builder()
+      .email("victim@example.com")
+      .password(bcrypt.encode("correct-password"))
+      .username("victim")
+      .authority(Authority.ROLE_USER)
+      .createdAt(LocalDateTime.now())
+      .passwordUpdatedAt(LocalDateTime.now())
+      .active(true)
+      .build();
+    UserRepository userRepository = mock(UserRepository.class);
+    when(userRepository.findUserByEmail(anyString())).thenReturn(user);
+    UserService userService = new UserService(userRepository, mock(AuditLogWriter.class), countingEncoder,
+      mock(JwtUtil.class), mock(UserPrincipalCache.class), limiter(100_000), mock(RefreshTokenService.class),
+      mock(AuthMetrics.class));
+
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    long hashStart = threads.getCurrentThreadCpuTime();
+    bcrypt.matches("wrong-password", user.getPassword());
+    long singleHashNanos = threads.getCurrentThreadCpuTime() - hashStart;
+
+    // When (한 계정을 여러 IP 에서 대입 + 한 IP 에서 여러 계정 대입, 1,000 회 단위로 CPU 시간 측정)
+    int windows = 10;
+    long[] windowCpu = new long[windows];
+    int rejected = 0;
+    for (int w = 0; w < windows; w++) {
+      long start = threads.getCurrentThreadCpuTime();
+      for (int i = 0; i < 1000; i++) {
+        int attempt = w * 1000 + i;
+        String email = (attempt % 2 == 0) ? "victim@example.com" : "user" + attempt + "@example.com";
+        String ip = (attempt % 2 == 0) ? "10.1.0." + attempt % 200 : "10.9.9.9";
+        try {
+          userService.login(email, "guess-" + attempt, ip);
+        } catch (TooManyLoginAttemptsException e) {
+          rejected++;
+        } catch (BadCredentialsException e) {
+          // 제한 전 실패
+        }
+      }
+      windowCpu[w] = threads.getCurrentThreadCpuTime() - start;
+    }
+
+    // Then (해싱은 버킷 용량(이메일 5 + IP 20)과 실행 중 충전된 몇 개만큼만 일어나고, 이후 구간의 CPU 는 해시 한 번 비용보다도 작음)
+    assertTrue(hashes.get() <= 30, "hashed " + hashes.get() + " times");
+    assertTrue(rejected >= 10_000 - 30);
+    for (int w = 1; w < windows; w++) {
+      assertTrue(windowCpu[w] < 2 * singleHashNanos,
+        "window " + w + " used " + windowCpu[w] / 1_000_000 + "ms CPU (one hash: " + singleHashNanos / 1_000_000 + "ms)");
+    }
+  }
+}
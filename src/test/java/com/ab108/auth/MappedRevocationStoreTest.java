@@ -0,0 +1,123 @@
+package com.ab108.auth;
+
+import com.ab108.auth.revocation.MappedRevocationStore;
+import com.ab108.auth.revocation.RevocationEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedRevocationStoreTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testReplay_AfterRestart() throws Exception {
+    // Given
+    UUID jti = UUID.randomUUID();
+    MappedRevocationStore store = new MappedRevocationStore(directory.toString(), 4096);
+    store.open();
+    store.append(RevocationEvent.blacklist(jti, 5_000L));
+    store.append(RevocationEvent.expireUser(7L, 2_000L));
+    store.close();
+
+    // When
+    MappedRevocationStore restarted = new MappedRevocationStore(directory.toString(), 4096);
+    restarted.open();
+    List<RevocationEvent> replayed = new ArrayList<>();
+    restarted.replay(replayed::add);
+    restarted.close();
+
+    // Then
+    assertEquals(2, replayed.size());
+    assertEquals(jti, replayed.get(0).getJti());
+    assertEquals(7L, replayed.get(1).getUserId());
+  }
+
+  @Test
+  void testClose_PersistsEveryPendingGroup() throws Exception {
+    // Given (한 묶음 최대 크기 4096 개를 넘는 이벤트를 쌓은 직후 종료)
+    int events = 10_000;
+    MappedRevocationStore store = new MappedRevocationStore(directory.toString(), 1 << 20);
+    store.open();
+    for (int i = 0; i < events; i++) {
+      store.append(RevocationEvent.expireUser((long) i, 2_000L));
+    }
+
+    // When
+    store.close();
+
+    MappedRevocationStore restarted = new MappedRevocationStore(directory.toString(), 1 << 20);
+    restarted.open();
+    List<RevocationEvent> replayed = new ArrayList<>();
+    restarted.replay(replayed::add);
+    restarted.close();
+
+    // Then
+    assertEquals(events, replayed.size());
+  }
+
+  @Test
+  void testCompact_ReplaysSnapshotInsteadOfHistory() throws Exception {
+    // Given
+    MappedRevocationStore store = new MappedRevocationStore(directory.toString(), 4096);
+    store.open();
+    for (int i = 0; i < 100; i++) {
+      store.append(RevocationEvent.blacklist(UUID.randomUUID(), 1_000L)); // 이미 만료된 이력
+    }
+    UUID live = UUID.randomUUID();
+
+    // When
+    store.compact(() -> List.of(RevocationEvent.blacklist(live, 5_000L)));
+    store.close();
+
+    MappedRevocationStore restarted = new MappedRevocationStore(directory.toString(), 4096);
+    restarted.open();
+    List<RevocationEvent> replayed = new ArrayList<>();
+    restarted.replay(replayed::add);
+    restarted.close();
+
+    // Then
+    assertEquals(1, replayed.size());
+    assertEquals(live, replayed.get(0).getJti());
+  }
+
+  @Test
+  void testOpen_ResumesMostlyEmptyTailSegment() throws Exception {
+    // Given
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    MappedRevocationStore store = new MappedRevocationStore(directory.toString(), 4096);
+    store.open();
+    store.append(RevocationEvent.blacklist(first, 5_000L));
+    store.close();
+
+    // When (재시작 후 같은 세대 끝에 이어서 기록)
+    MappedRevocationStore resumed = new MappedRevocationStore(directory.toString(), 4096);
+    resumed.open();
+    resumed.append(RevocationEvent.blacklist(second, 5_000L));
+    resumed.close();
+
+    MappedRevocationStore restarted = new MappedRevocationStore(directory.toString(), 4096);
+    restarted.open();
+    List<RevocationEvent> replayed = new ArrayList<>();
+    restarted.replay(replayed::add);
+    restarted.close();
+
+    // Then
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(1, files.filter(file -> file.getFileName().toString().endsWith(".log")).count());
+    }
+    assertEquals(2, replayed.size());
+    assertEquals(first, replayed.get(0).getJti());
+    assertEquals(second, replayed.get(1).getJti());
+  }
+}
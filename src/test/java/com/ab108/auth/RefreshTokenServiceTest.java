@@ -0,0 +1,85 @@
+package com.ab108.auth;
+
+import com.ab108.auth.entity.RefreshToken;
+import com.ab108.auth.repository.RefreshTokenRepository;
+import com.ab108.auth.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+  private RefreshTokenRepository refreshTokenRepository;
+  private RefreshTokenService refreshTokenService;
+  private final Map<String, RefreshToken> stored = new HashMap<>();
+
+  @BeforeEach
+  void setUp() {
+    refreshTokenRepository = mock(RefreshTokenRepository.class);
+    refreshTokenService = new RefreshTokenService(refreshTokenRepository, 3600000);
+    when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+      RefreshToken token = invocation.getArgument(0);
+      stored.put(token.getTokenHash(), token);
+      return token;
+    });
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenAnswer(invocation -> stored.get(invocation.<String>getArgument(0)));
+  }
+
+  @Test
+  void testIssue_StoresOnlyHash() {
+    // When
+    String raw = refreshTokenService.issue(1L, "test@example.com");
+
+    // Then
+    ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository).save(captor.capture());
+    assertNotEquals(raw, captor.getValue().getTokenHash());
+    assertEquals(64, captor.getValue().getTokenHash().length());
+    assertTrue(captor.getValue().getExpiresAt().isAfter(LocalDateTime.now()));
+  }
+
+  @Test
+  void testRotate_IssuesNewTokenInSameFamily() {
+    // Given
+    String raw = refreshTokenService.issue(1L, "test@example.com");
+    when(refreshTokenRepository.markRotated(any(), any())).thenReturn(1);
+
+    // When
+    RefreshTokenService.Rotation rotation = refreshTokenService.rotate(raw);
+
+    // Then
+    assertEquals(1L, rotation.userId());
+    assertEquals("test@example.com", rotation.email());
+    assertNotEquals(raw, rotation.refreshToken());
+    assertEquals(2, stored.size());
+    assertEquals(1, stored.values().stream().map(RefreshToken::getFamilyId).distinct().count());
+  }
+
+  @Test
+  void testRotate_ReuseRevokesFamily() {
+    // Given (이미 교체된 토큰이라 markRotated 가 0 을 반환)
+    String raw = refreshTokenService.issue(1L, "test@example.com");
+    String familyId = stored.values().iterator().next().getFamilyId();
+    when(refreshTokenRepository.markRotated(any(), any())).thenReturn(0);
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate(raw));
+    verify(refreshTokenRepository).revokeFamily(familyId);
+  }
+
+  @Test
+  void testRotate_UnknownToken() {
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("unknown"));
+    verify(refreshTokenRepository, never()).markRotated(any(), any());
+  }
+}
@@ -0,0 +1,68 @@
+package com.ab108.auth;
+
+import com.ab108.auth.utils.ResponseWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseWriterTest {
+
+  @Test
+  void testWriteTokens_JsonWithExactContentLength() throws Exception {
+    // Given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    ResponseWriter.writeTokens(response, "aaa.bbb.ccc", "r-_1", 1700000000L, 1700003600L);
+
+    // Then
+    String expected = "{\"token\":\"aaa.bbb.ccc\",\"refreshToken\":\"r-_1\",\"iat\":1700000000,\"exp\":1700003600}";
+    assertEquals(200, response.getStatus());
+    assertEquals("application/json", response.getContentType());
+    assertEquals(expected, response.getContentAsString());
+    assertEquals(expected.length(), response.getContentLength());
+  }
+
+  @Test
+  void testWrite_PreEncodedBody() throws Exception {
+    // Given
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    MockHttpServletResponse second = new MockHttpServletResponse();
+
+    // When
+    ResponseWriter.write(first, 401, ResponseWriter.INVALID_TOKEN);
+    ResponseWriter.write(second, 401, ResponseWriter.INVALID_TOKEN);
+
+    // Then
+    assertEquals(401, first.getStatus());
+    assertEquals("Invalid or expired token", first.getContentAsString());
+    assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+  }
+
+  @Test
+  void testWriteError_EscapesMessage() throws Exception {
+    // Given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    ResponseWriter.writeError(response, 400, "잘못된 \"요청\"\n");
+
+    // Then
+    String body = new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+    assertEquals(400, response.getStatus());
+    assertEquals("{\"error\": \"잘못된 \\\"요청\\\"\\u000a\"}", body);
+    assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+  }
+
+  @Test
+  void testErrorJson_EscapesRequestValue() {
+    // When (LogExportFormat.from 처럼 요청 값이 메시지에 들어간 경우)
+    String body = ResponseWriter.errorJson("Unsupported export format: x\"}");
+
+    // Then
+    assertEquals("{\"error\": \"Unsupported export format: x\\\"}\"}", body);
+  }
+}
@@ -0,0 +1,146 @@
+package com.ab108.auth;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.revocation.*;
+import com.ab108.auth.utils.InvalidationTable;
+import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.SigningKeyRing;
+import com.ab108.auth.utils.TokenBlacklist;
+import com.ab108.auth.utils.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationPropagationTest {
+
+  private static final String SECRET = "VlwEyVBsYt9V7zq57TejMnVUyzblYcfPQye08f7MGVA9XkHa";
+
+  private LoopbackRevocationEventBus bus;
+  private Node nodeA;
+  private Node nodeB;
+
+  @BeforeEach
+  void setUp() {
+    bus = new LoopbackRevocationEventBus();
+    nodeA = new Node(bus);
+    nodeB = new Node(bus);
+  }
+
+  @Test
+  void testLogoutOnOneNode_RejectedOnOtherNode() {
+    // Given
+    VerifiedToken token = nodeB.jwtUtil.parseToken(nodeA.jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+    assertTrue(nodeB.jwtUtil.validateToken(token));
+
+    // When
+    nodeA.jwtUtil.addToBlacklist(token.getJti(), token.getExpiration());
+    nodeA.publisher.flush();
+
+    // Then
+    assertThrows(IllegalArgumentException.class, () -> nodeB.jwtUtil.validateToken(token));
+    assertEquals(1, nodeB.applier.getAppliedEventCount());
+  }
+
+  @Test
+  void testExpireUserTokens_CoalescedAndPropagated() {
+    // Given
+    VerifiedToken before = nodeB.jwtUtil.parseToken(nodeB.jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+
+    // When
+    nodeA.jwtUtil.expireUserTokens(1L);
+    nodeA.jwtUtil.expireUserTokens(1L);
+    nodeA.publisher.flush();
+    VerifiedToken after = nodeB.jwtUtil.parseToken(nodeB.jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+
+    // Then
+    assertThrows(IllegalArgumentException.class, () -> nodeB.jwtUtil.validateToken(before));
+    assertTrue(nodeB.jwtUtil.validateToken(after));
+    assertTrue(nodeA.jwtUtil.validateToken(after));
+    assertEquals(1, nodeB.applier.getAppliedEventCount()); // 같은 사용자의 두 이벤트는 하나로 합쳐짐
+  }
+
+  @Test
+  void testExpireUserTokens_TokenIssuedBeforeEventArrivesStaysValid() throws Exception {
+    // Given (노드 A 에서 무효화한 뒤, 이벤트가 전파되기 전에 노드 B 에서 새로 발급)
+    nodeA.jwtUtil.expireUserTokens(1L);
+    Thread.sleep(2); // 무효화 기준 시점 (현재 + 1ms) 이후에 발급되도록
+    VerifiedToken issuedOnB = nodeB.jwtUtil.parseToken(nodeB.jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER));
+
+    // When
+    nodeA.publisher.flush();
+
+    // Then
+    assertEquals(1, nodeB.applier.getAppliedEventCount());
+    assertTrue(nodeB.jwtUtil.validateToken(issuedOnB));
+    assertTrue(nodeA.jwtUtil.validateToken(issuedOnB));
+  }
+
+  @Test
+  void testCodec_RoundTrip() {
+    // Given
+    UUID jti = UUID.randomUUID();
+    RevocationBatch batch = new RevocationBatch(42L, 1_000L, List.of(
+      RevocationEvent.blacklist(jti, 5_000L),
+      RevocationEvent.expireUser(7L, 2_000L)
+    ));
+
+    // When
+    RevocationBatch decoded = RevocationEventCodec.decode(RevocationEventCodec.encode(batch));
+
+    // Then
+    assertEquals(42L, decoded.getOriginNodeId());
+    assertEquals(1_000L, decoded.getPublishedAt());
+    assertEquals(jti, decoded.getEvents().get(0).getJti());
+    assertEquals(5_000L, decoded.getEvents().get(0).getTimestamp());
+    assertEquals(7L, decoded.getEvents().get(1).getUserId());
+    assertEquals(2_000L, decoded.getEvents().get(1).getTimestamp());
+  }
+
+  @Test
+  void testCodec_RejectsTruncatedPayload() {
+    // Given
+    byte[] payload = RevocationEventCodec.encode(new RevocationBatch(42L, 1_000L, List.of(
+      RevocationEvent.blacklist(UUID.randomUUID(), 5_000L),
+      RevocationEvent.blacklist(UUID.randomUUID(), 5_000L)
+    )));
+    byte[] truncated = Arrays.copyOf(payload, payload.length - 10);
+
+    // When & Then
+    assertThrows(IllegalArgumentException.class, () -> RevocationEventCodec.decode(truncated));
+  }
+
+  @Test
+  void testCodec_RejectsOversizedCountBeforeAllocating() {
+    // Given (이벤트 하나짜리 묶음의 건수를 Integer.MAX_VALUE 로 변조)
+    byte[] payload = RevocationEventCodec.encode(new RevocationBatch(42L, 1_000L, List.of(
+      RevocationEvent.expireUser(7L, 2_000L)
+    )));
+    ByteBuffer.wrap(payload).putInt(2 + 1 + 8 + 8, Integer.MAX_VALUE);
+
+    // When & Then
+    assertThrows(IllegalArgumentException.class, () -> RevocationEventCodec.decode(payload));
+  }
+
+  private static final class Node {
+    private final RevocationPublisher publisher;
+    private final JwtUtil jwtUtil;
+    private final RevocationEventApplier applier;
+
+    private Node(RevocationEventBus bus) {
+      publisher = new RevocationPublisher(bus, 512);
+      jwtUtil = new JwtUtil(new SigningKeyRing(SECRET, "HS256", 3600000, null), 3600000,
+        new TokenBlacklist(3600000, 1000, 0.01), new InvalidationTable(), publisher, new NoOpRevocationStore(),
+        new AuthMetrics(new SimpleMeterRegistry()));
+      applier = new RevocationEventApplier(bus, publisher, jwtUtil);
+      applier.subscribe();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.ab108.auth;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+  "revocation.store.enabled=false",
+  "password-hashing.bcrypt.strength=10"
+})
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JwtUtil jwtUtil;
+
+  @Test
+  void testAuthEndpoints_ReachableWithoutTokenOrCsrf() throws Exception {
+    // Given
+    mockMvc.perform(post("/users/signup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"security@example.com\",\"password\":\"password123\",\"username\":\"security\"}"))
+      .andExpect(status().isOk());
+
+    // When
+    MvcResult signin = mockMvc.perform(post("/users/signin")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"security@example.com\",\"password\":\"password123\"}"))
+      .andExpect(status().isOk())
+      .andReturn();
+    String body = signin.getResponse().getContentAsString();
+    String token = body.substring(body.indexOf("\"token\":\"") + 9, body.indexOf("\",\"refreshToken\""));
+
+    // Then (로그아웃은 토큰만 있으면 CSRF 토큰 없이 가능)
+    mockMvc.perform(post("/users/logout").header("Authorization", "Bearer " + token))
+      .andExpect(status().isOk());
+  }
+
+  @Test
+  void testLogout_RequiresToken() throws Exception {
+    mockMvc.perform(post("/users/logout"))
+      .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void testAdminEndpoints_RequireAdminAuthority() throws Exception {
+    // Given
+    String userToken = jwtUtil.createAccessToken(1L, "user@example.com", Authority.ROLE_USER);
+
+    // When / Then
+    mockMvc.perform(get("/admin/users/1/logs").header("Authorization", "Bearer " + userToken))
+      .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void testCsrf_StillEnforcedOutsideAuthEndpoints() throws Exception {
+    // Given
+    String adminToken = jwtUtil.createAccessToken(0L, "admin@example.com", Authority.ROLE_ADMIN);
+
+    // When / Then
+    mockMvc.perform(post("/admin/users/1/expire-tokens").header("Authorization", "Bearer " + adminToken))
+      .andExpect(status().isForbidden());
+    mockMvc.perform(post("/admin/users/1/expire-tokens").header("Authorization", "Bearer " + adminToken).with(csrf()))
+      .andExpect(status().isOk());
+  }
+}
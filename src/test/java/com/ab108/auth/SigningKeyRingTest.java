@@ -0,0 +1,224 @@
+package com.ab108.auth;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.revocation.LoopbackRevocationEventBus;
+import com.ab108.auth.revocation.NoOpRevocationStore;
+import com.ab108.auth.revocation.RevocationPublisher;
+import com.ab108.auth.utils.InvalidationTable;
+import com.ab108.auth.utils.JwtUtil;
+import com.ab108.auth.utils.SigningKeyRing;
+import com.ab108.auth.utils.TokenBlacklist;
+import com.ab108.auth.utils.VerifiedToken;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningKeyRingTest {
+
+  private static final String SECRET = "VlwEyVBsYt9V7zq57TejMnVUyzblYcfPQye08f7MGVA9XkHa";
+
+  @TempDir
+  Path tempDir;
+
+  private String keyStore;
+  private SigningKeyRing keyRing;
+  private JwtUtil jwtUtil;
+
+  @BeforeEach
+  void setUp() {
+    keyStore = tempDir.resolve("jwt-keys.properties").toString();
+    keyRing = new SigningKeyRing(SECRET, "ES256", 3600000, keyStore);
+    jwtUtil = jwtUtil(keyRing);
+  }
+
+  @Test
+  void testSign_Es256WithKeyId() {
+    // Given
+    String token = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // When
+    String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+      StandardCharsets.UTF_8);
+    VerifiedToken verified = jwtUtil.parseToken(token);
+
+    // Then
+    assertTrue(header.contains("\"alg\":\"ES256\""));
+    assertTrue(header.contains("\"kid\":\"" + keyRing.getActiveKeyId() + "\""));
+    assertEquals("test@example.com", verified.getSubject());
+  }
+
+  @Test
+  void testRotate_OldTokensStillVerify() {
+    // Given
+    String before = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+    String oldKeyId = keyRing.getActiveKeyId();
+
+    // When
+    keyRing.rotate();
+    String after = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // Then
+    assertNotEquals(oldKeyId, keyRing.getActiveKeyId());
+    assertEquals("test@example.com", jwtUtil.parseToken(before).getSubject());
+    assertEquals("test@example.com", jwtUtil.parseToken(after).getSubject());
+  }
+
+  @Test
+  void testJwks_PublishesNextKeyBeforeActivation() {
+    // Given
+    SigningKeyRing.Jwks before = keyRing.jwks();
+
+    // When
+    keyRing.rotate();
+    SigningKeyRing.Jwks after = keyRing.jwks();
+
+    // Then
+    assertTrue(before.json().contains("\"kid\":\"" + keyRing.getActiveKeyId() + "\"")); // 활성화 전에 이미 공개됨
+    assertFalse(before.json().contains("\"d\"")); // 개인 키는 포함하지 않음
+    assertNotEquals(before.etag(), after.etag());
+  }
+
+  @Test
+  void testParse_UnknownKeyIdRejected() {
+    // Given
+    String forged = Jwts.builder()
+      .setHeaderParam("kid", "es-unknown")
+      .setId(UUID.randomUUID().toString())
+      .setSubject("test@example.com")
+      .claim("uid", 1L)
+      .claim("ver", 0L)
+      .claim("role", Authority.ROLE_USER.name())
+      .setIssuedAt(new Date())
+      .setExpiration(new Date(System.currentTimeMillis() + 60000))
+      .signWith(Keys.keyPairFor(SignatureAlgorithm.ES256).getPrivate(), SignatureAlgorithm.ES256)
+      .compact();
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.parseToken(forged));
+  }
+
+  @Test
+  void testParse_LegacyTokenWithoutKeyId() {
+    // Given
+    JwtUtil hs256 = jwtUtil(new SigningKeyRing(SECRET, "HS256", 3600000, null));
+
+    // When
+    VerifiedToken verified = hs256.parseToken(hmacToken(null));
+
+    // Then
+    assertEquals(1L, verified.getUserId());
+  }
+
+  @Test
+  void testParse_Es256RejectsSharedSecretTokens() {
+    // Given (ES256 에서는 kid 가 없거나 HMAC kid 인 공유 비밀 키 토큰을 받지 않음)
+    String withoutKeyId = hmacToken(null);
+    String withHmacKeyId = hmacToken(new SigningKeyRing(SECRET, "HS256", 3600000, null).getActiveKeyId());
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.parseToken(withoutKeyId));
+    assertThrows(IllegalArgumentException.class, () -> jwtUtil.parseToken(withHmacKeyId));
+  }
+
+  @Test
+  void testKeyStore_SharedAcrossNodesAndRestarts() {
+    // Given
+    String token = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // When (같은 파일을 읽는 다른 노드, 또는 재시작한 프로세스)
+    SigningKeyRing other = new SigningKeyRing(SECRET, "ES256", 3600000, keyStore);
+
+    // Then
+    assertEquals(keyRing.getActiveKeyId(), other.getActiveKeyId());
+    assertEquals(keyRing.jwks(), other.jwks());
+    assertEquals("test@example.com", jwtUtil(other).parseToken(token).getSubject());
+  }
+
+  @Test
+  void testRotate_OtherNodeAdoptsRotatedKeys() {
+    // Given
+    SigningKeyRing other = new SigningKeyRing(SECRET, "ES256", 3600000, keyStore);
+
+    // When (먼저 교체한 노드의 토큰은 다른 노드가 교체하기 전에도 검증되고, 뒤늦게 교체한 노드는 다시 교체하지 않음)
+    keyRing.rotate();
+    String rotated = jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+    VerifiedToken beforeAdopt = jwtUtil(other).parseToken(rotated);
+    other.rotate();
+
+    // Then
+    assertEquals("test@example.com", beforeAdopt.getSubject());
+    assertEquals(keyRing.getActiveKeyId(), other.getActiveKeyId());
+    assertEquals(keyRing.jwks(), other.jwks());
+  }
+
+  @Test
+  void testRotateSecret_OldHmacTokensStillVerify() {
+    // Given
+    JwtUtil hs256 = jwtUtil(new SigningKeyRing(SECRET, "HS256", 3600000, null));
+    String before = hs256.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // When
+    hs256.rotateKey(secret("rotated-secret-key-for-signing-key-ring-test"));
+    String after = hs256.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // Then
+    assertEquals("test@example.com", hs256.parseToken(before).getSubject());
+    assertEquals("test@example.com", hs256.parseToken(after).getSubject());
+  }
+
+  @Test
+  void testRotateSecret_DropsHmacKeyAfterTokensExpire() {
+    // Given (발급 즉시 만료되는 설정이라 다음 교체 때 이전 키가 정리됨)
+    SigningKeyRing ring = new SigningKeyRing(SECRET, "HS256", -1000, null);
+    JwtUtil hs256 = jwtUtil(ring);
+    String first = hs256.createAccessToken(1L, "test@example.com", Authority.ROLE_USER);
+
+    // When
+    ring.rotateSecret(secret("second-secret-key-for-signing-key-ring-test"));
+    ring.rotateSecret(secret("third-secret-key-for-signing-key-ring-test!"));
+
+    // Then
+    assertThrows(IllegalArgumentException.class, () -> hs256.parseToken(first));
+  }
+
+  private static String hmacToken(String keyId) {
+    JwtBuilder builder = Jwts.builder();
+    if (keyId != null) {
+      builder.setHeaderParam("kid", keyId);
+    }
+    return builder
+      .setId(UUID.randomUUID().toString())
+      .setSubject("test@example.com")
+      .claim("uid", 1L)
+      .claim("ver", 0L)
+      .claim("role", Authority.ROLE_USER.name())
+      .setIssuedAt(new Date())
+      .setExpiration(new Date(System.currentTimeMillis() + 60000))
+      .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)), SignatureAlgorithm.HS256)
+      .compact();
+  }
+
+  private static JwtUtil jwtUtil(SigningKeyRing ring) {
+    return new JwtUtil(ring, 3600000, new TokenBlacklist(3600000, 1000, 0.01), new InvalidationTable(),
+      new RevocationPublisher(new LoopbackRevocationEventBus(), 512), new NoOpRevocationStore(),
+      new AuthMetrics(new SimpleMeterRegistry()));
+  }
+
+  private static String secret(String value) {
+    return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,63 @@
+package com.ab108.auth;
+
+import com.ab108.auth.utils.TokenBlacklist;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistTest {
+
+  @Test
+  void testPurgeExpired_RemovesOnlyExpiredEntries() {
+    // Given
+    TokenBlacklist blacklist = new TokenBlacklist(3_600_000L, 1000, 0.01);
+    UUID expired = UUID.randomUUID();
+    UUID live = UUID.randomUUID();
+    blacklist.add(expired, 1_000L);
+    blacklist.add(live, 5_000L);
+
+    // When
+    int removed = blacklist.purgeExpired(2_000L);
+
+    // Then
+    assertEquals(1, removed);
+    assertEquals(1, blacklist.size());
+    assertFalse(blacklist.contains(expired, 1_000L, 2_000L));
+    assertTrue(blacklist.contains(live, 5_000L, 2_000L));
+  }
+
+  @Test
+  void testContains_ExpiredEntryIsNotRevoked() {
+    // Given
+    TokenBlacklist blacklist = new TokenBlacklist(3_600_000L, 1000, 0.01);
+    UUID jti = UUID.randomUUID();
+    blacklist.add(jti, 1_000L);
+
+    // When / Then
+    assertTrue(blacklist.contains(jti, 1_000L, 1_000L));
+    assertFalse(blacklist.contains(jti, 1_000L, 1_001L));
+  }
+
+  @Test
+  void testContains_BloomFilterRejectsUnknownTokens() {
+    // Given
+    TokenBlacklist blacklist = new TokenBlacklist(3_600_000L, 1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      blacklist.add(UUID.randomUUID(), 5_000L);
+    }
+
+    // When
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (blacklist.contains(UUID.randomUUID(), 5_000L, 2_000L)) {
+        falsePositives++;
+      }
+    }
+
+    // Then
+    assertEquals(0, falsePositives); // 정확한 맵 조회로 최종 판정
+    assertTrue(blacklist.getFalsePositiveRate() < 0.05);
+  }
+}
@@ -0,0 +1,96 @@
+package com.ab108.auth;
+
+import com.ab108.auth.dto.UserLogResponse;
+import com.ab108.auth.dto.UserLogSliceResponse;
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.entity.User;
+import com.ab108.auth.repository.UserRepository;
+import com.ab108.auth.service.AdminService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 실제 findLogsByCursor 쿼리로 keyset 페이지를 끝까지 넘길 때, 같은 timestamp 를 가진 행이 페이지 경계에 걸려도
+ * 누락이나 중복 없이 (timestamp, id) 내림차순으로 모두 조회되는지 확인한다.
+ */
+@SpringBootTest(properties = {
+  "revocation.store.enabled=false",
+  "password-hashing.bcrypt.strength=10"
+})
+@Transactional
+class UserLogCursorPagingTest {
+
+  private static final int ROWS = 23;
+  private static final int PAGE_SIZE = 4;
+
+  @Autowired
+  private AdminService adminService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testCursor_WalksAllPagesAcrossEqualTimestamps() {
+    // Given (23 행이 timestamp 3 개에 나뉘어 있어 여러 페이지 경계가 같은 timestamp 한가운데에 걸림)
+    User user = saveUser("cursor@example.com");
+    User other = saveUser("cursor-other@example.com");
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (int i = 0; i < ROWS; i++) {
+      insertLog(900_000L + i, user.getId(), base.plusMinutes(i % 3));
+    }
+    insertLog(900_100L, other.getId(), base.plusMinutes(1));
+
+    // When
+    List<UserLogResponse> visited = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      UserLogSliceResponse page = adminService.getUserLogsByCursor(user.getId(), null, null, null, cursor, PAGE_SIZE);
+      assertTrue(page.getContent().size() <= PAGE_SIZE);
+      visited.addAll(page.getContent());
+      cursor = page.getNextCursor();
+      pages++;
+    } while (cursor != null);
+
+    // Then
+    assertEquals((ROWS + PAGE_SIZE - 1) / PAGE_SIZE, pages);
+    assertEquals(ROWS, visited.size());
+    assertEquals(ROWS, visited.stream().map(UserLogResponse::getId).distinct().count());
+    for (int i = 1; i < visited.size(); i++) {
+      UserLogResponse prev = visited.get(i - 1);
+      UserLogResponse cur = visited.get(i);
+      int order = cur.getTimestamp().compareTo(prev.getTimestamp());
+      assertTrue(order < 0 || (order == 0 && cur.getId() < prev.getId()),
+        "rows must be in (timestamp, id) descending order at index " + i);
+    }
+  }
+
+  private User saveUser(String email) {
+    return userRepository.save(User.builder()
+      .email(email)
+      .password("hashedPassword")
+      .username("cursor")
+      .authority(Authority.ROLE_USER)
+      .createdAt(LocalDateTime.now())
+      .passwordUpdatedAt(LocalDateTime.now())
+      .active(true)
+      .build());
+  }
+
+  private void insertLog(long id, Long userId, LocalDateTime timestamp) {
+    jdbcTemplate.update("INSERT INTO user_logs (id, user_id, log_type, timestamp, message, log_date) VALUES (?, ?, ?, ?, ?, ?)",
+      id, userId, "LOGIN_FAILURE", timestamp, "Invalid password attempt", timestamp.toLocalDate());
+  }
+}
@@ -0,0 +1,73 @@
+package com.ab108.auth;
+
+import com.ab108.auth.cache.UserPrincipalCache;
+import com.ab108.auth.dto.UserLogResponse;
+import com.ab108.auth.repository.UserLogDailyCountRepository;
+import com.ab108.auth.repository.UserLogRepository;
+import com.ab108.auth.service.AdminService;
+import com.ab108.auth.service.LogExportFormat;
+import com.ab108.auth.service.RefreshTokenService;
+import com.ab108.auth.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserLogExportTest {
+
+  private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private final UserLogRepository userLogRepository = mock(UserLogRepository.class);
+  private final AdminService adminService =
+    new AdminService(userLogRepository, mock(UserLogDailyCountRepository.class), mock(JwtUtil.class),
+      mock(UserPrincipalCache.class), mock(RefreshTokenService.class));
+
+  private static UserLogResponse log(long id, String message) {
+    return new UserLogResponse(id, "LOGIN_FAILURE", BASE.plusSeconds(id), message);
+  }
+
+  @Test
+  void testExport_Ndjson() throws Exception {
+    // Given
+    when(userLogRepository.streamLogs(1L, null, null, null))
+      .thenReturn(Stream.of(log(1, "Invalid \"password\"\n"), log(2, null)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    long rows = adminService.exportUserLogs(1L, null, null, null, LogExportFormat.NDJSON, out);
+
+    // Then
+    assertEquals(2, rows);
+    assertEquals(
+      "{\"id\":1,\"logType\":\"LOGIN_FAILURE\",\"timestamp\":\"2024-01-01T00:00:01\",\"message\":\"Invalid \\\"password\\\"\\n\"}\n" +
+      "{\"id\":2,\"logType\":\"LOGIN_FAILURE\",\"timestamp\":\"2024-01-01T00:00:02\",\"message\":null}\n",
+      out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testExport_Csv() throws Exception {
+    // Given
+    when(userLogRepository.streamLogs(1L, null, null, null))
+      .thenReturn(Stream.of(log(1, "Invalid password, \"retry\"")));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    adminService.exportUserLogs(1L, null, null, null, LogExportFormat.CSV, out);
+
+    // Then
+    assertEquals(
+      "id,logType,timestamp,message\n" +
+      "1,LOGIN_FAILURE,2024-01-01T00:00:01,\"Invalid password, \"\"retry\"\"\"\n",
+      out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testExport_UnsupportedFormat() {
+    assertThrows(IllegalArgumentException.class, () -> LogExportFormat.from("xml"));
+  }
+}
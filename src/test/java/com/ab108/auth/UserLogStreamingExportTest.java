@@ -0,0 +1,112 @@
+package com.ab108.auth;
+
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.entity.User;
+import com.ab108.auth.repository.UserRepository;
+import com.ab108.auth.service.AdminService;
+import com.ab108.auth.service.LogExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 실제 streamLogs 쿼리(forward-only 커서, fetch size / read-only 힌트, 영속성 컨텍스트)를 거쳐 내보낼 때의 힙 사용량.
+ * 메모리 DB 는 행 자체가 힙에 올라가므로 파일 H2 를 사용하고, 행은 INSERT ... SELECT 로 한 번에 넣는다.
+ */
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:h2:file:./build/tmp/user-log-export/db",
+  "spring.jpa.hibernate.ddl-auto=create-drop",
+  "spring.jpa.show-sql=false",
+  "revocation.store.enabled=false",
+  "password-hashing.bcrypt.strength=10"
+})
+class UserLogStreamingExportTest {
+
+  private static final long TOTAL = 2_000_000;
+  private static final long CHUNK = 200_000;
+
+  @Autowired
+  private AdminService adminService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testExport_ConstantHeapOverMillionsOfRows() throws Exception {
+    // Given
+    User user = userRepository.save(User.builder()
+      .email("export@example.com")
+      .password("hashedPassword")
+      .username("export")
+      .authority(Authority.ROLE_USER)
+      .createdAt(LocalDateTime.now())
+      .passwordUpdatedAt(LocalDateTime.now())
+      .active(true)
+      .build());
+    for (long from = 1; from <= TOTAL; from += CHUNK) {
+      jdbcTemplate.update("INSERT INTO user_logs (id, user_id, log_type, timestamp, message, log_date) " +
+          "SELECT X, ?, 'LOGIN_FAILURE', DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), " +
+          "'Invalid password attempt #' || X, CAST(DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00') AS DATE) " +
+          "FROM SYSTEM_RANGE(?, ?)",
+        user.getId(), from, Math.min(TOTAL, from + CHUNK - 1));
+    }
+
+    Runtime runtime = Runtime.getRuntime();
+    HeapSamplingOutputStream out = new HeapSamplingOutputStream(runtime, usedHeapAfterGc(runtime));
+
+    // When (서비스 빈을 통해 트랜잭션, 커서, 힌트가 모두 실제로 적용됨)
+    long written = adminService.exportUserLogs(user.getId(), null, null, null, LogExportFormat.NDJSON, out);
+
+    // Then
+    assertEquals(TOTAL, written);
+    assertTrue(out.count > TOTAL * 80, "all rows should be written");
+    assertTrue(out.samples >= 4, "heap sampled " + out.samples + " times");
+    assertTrue(out.maxGrowth < 32L * 1024 * 1024, "heap grew by " + out.maxGrowth + " bytes during export");
+  }
+
+  private static long usedHeapAfterGc(Runtime runtime) {
+    System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  // 일정 바이트마다 GC 후 힙 사용량을 재어 내보내기 시작 시점 대비 최대 증가량을 기록
+  private static class HeapSamplingOutputStream extends OutputStream {
+    private static final long SAMPLE_BYTES = 32L * 1024 * 1024;
+
+    private final Runtime runtime;
+    private final long baseline;
+    long count;
+    long nextSample = SAMPLE_BYTES;
+    long maxGrowth;
+    int samples;
+
+    HeapSamplingOutputStream(Runtime runtime, long baseline) {
+      this.runtime = runtime;
+      this.baseline = baseline;
+    }
+
+    @Override
+    public void write(int b) {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+      if (count >= nextSample) {
+        nextSample += SAMPLE_BYTES;
+        maxGrowth = Math.max(maxGrowth, usedHeapAfterGc(runtime) - baseline);
+        samples++;
+      }
+    }
+  }
+}
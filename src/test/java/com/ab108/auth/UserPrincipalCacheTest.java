@@ -0,0 +1,126 @@
+package com.ab108.auth;
+
+import com.ab108.auth.cache.UserPrincipal;
+import com.ab108.auth.cache.UserPrincipalCache;
+import com.ab108.auth.entity.Authority;
+import com.ab108.auth.entity.User;
+import com.ab108.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserPrincipalCacheTest {
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+
+  @Test
+  void testGet_CachesLoadedPrincipal() {
+    // Given
+    UserPrincipalCache cache = new UserPrincipalCache(userRepository, 1000, 60_000);
+    when(userRepository.findUserByEmail("test@example.com")).thenReturn(user(1L, "test@example.com"));
+
+    // When
+    UserPrincipal first = cache.get("test@example.com");
+    UserPrincipal second = cache.get("test@example.com");
+
+    // Then
+    assertSame(first, second);
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    verify(userRepository, times(1)).findUserByEmail("test@example.com");
+  }
+
+  @Test
+  void testGet_InvalidateDuringLoadIsNotReinserted() {
+    // Given (DB 조회 도중 비활성화 + 무효화가 일어난 경우)
+    UserPrincipalCache cache = new UserPrincipalCache(userRepository, 1000, 60_000);
+    when(userRepository.findUserByEmail("test@example.com")).thenAnswer(invocation -> {
+      cache.invalidate("test@example.com");
+      return user(1L, "test@example.com");
+    });
+
+    // When
+    cache.get("test@example.com");
+    cache.get("test@example.com");
+
+    // Then (첫 조회 결과는 캐시에 남지 않아 다시 DB 에서 읽음)
+    verify(userRepository, times(2)).findUserByEmail("test@example.com");
+    assertEquals(0, cache.getHitCount());
+  }
+
+  @Test
+  void testGet_InvalidateUserDuringLoadIsNotReinserted() {
+    // Given
+    UserPrincipalCache cache = new UserPrincipalCache(userRepository, 1000, 60_000);
+    AtomicBoolean invalidated = new AtomicBoolean();
+    when(userRepository.findUserByEmail("test@example.com")).thenAnswer(invocation -> {
+      if (!invalidated.getAndSet(true)) {
+        cache.invalidateUser(1L);
+      }
+      return user(1L, "test@example.com");
+    });
+
+    // When
+    cache.get("test@example.com");
+    cache.get("test@example.com");
+    cache.get("test@example.com");
+
+    // Then (두 번째 조회 결과부터 캐시됨)
+    verify(userRepository, times(2)).findUserByEmail("test@example.com");
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  void testInvalidateUser_RemovesCachedEntries() {
+    // Given
+    UserPrincipalCache cache = new UserPrincipalCache(userRepository, 1000, 60_000);
+    when(userRepository.findUserByEmail("a@example.com")).thenReturn(user(1L, "a@example.com"));
+    when(userRepository.findUserByEmail("b@example.com")).thenReturn(user(2L, "b@example.com"));
+    cache.get("a@example.com");
+    cache.get("b@example.com");
+
+    // When
+    cache.invalidateUser(1L);
+
+    // Then
+    assertEquals(1, cache.size());
+    cache.get("a@example.com");
+    verify(userRepository, times(2)).findUserByEmail("a@example.com");
+  }
+
+  @Test
+  void testGet_SizeBoundedByMaxSize() {
+    // Given (stripe 당 1 개, 전체 64 개 상한)
+    UserPrincipalCache cache = new UserPrincipalCache(userRepository, 64, 60_000);
+    when(userRepository.findUserByEmail(anyString()))
+      .thenAnswer(invocation -> user(1L, invocation.getArgument(0)));
+
+    // When
+    for (int i = 0; i < 1000; i++) {
+      cache.get("user" + i + "@example.com");
+    }
+
+    // Then
+    assertTrue(cache.size() <= 64, "size " + cache.size());
+    assertEquals(1000 - cache.size(), cache.getEvictionCount());
+  }
+
+  private static User user(Long id, String email) {
+    User user = User.builder()
+      .email(email)
+      .password("hashedPassword")
+      .username("testuser")
+      .authority(Authority.ROLE_USER)
+      .createdAt(LocalDateTime.now())
+      .passwordUpdatedAt(LocalDateTime.now())
+      .active(true)
+      .build();
+    ReflectionTestUtils.setField(user, "id", id); // id 는 DB 에서 생성되므로 빌더에 없음
+    return user;
+  }
+}
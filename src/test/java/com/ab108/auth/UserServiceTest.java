@@ -1,16 +1,22 @@
 package com.ab108.auth;
 
+import com.ab108.auth.audit.AuditLogWriter;
+import com.ab108.auth.audit.AuditRecord;
+import com.ab108.auth.cache.UserPrincipal;
+import com.ab108.auth.cache.UserPrincipalCache;
 import com.ab108.auth.dto.SignupRequest;
+import com.ab108.auth.dto.TokenPair;
 import com.ab108.auth.entity.Authority;
 import com.ab108.auth.entity.User;
-import com.ab108.auth.entity.UserLog;
+import com.ab108.auth.exception.TooManyLoginAttemptsException;
 import com.ab108.auth.exception.UnauthorizedException;
-import com.ab108.auth.repository.UserLogRepository;
+import com.ab108.auth.metrics.AuthMetrics;
+import com.ab108.auth.ratelimit.LoginAttemptLimiter;
 import com.ab108.auth.repository.UserRepository;
+import com.ab108.auth.service.RefreshTokenService;
 import com.ab108.auth.service.UserService;
 import com.ab108.auth.utils.JwtUtil;
-import io.jsonwebtoken.Claims;
-import jakarta.servlet.http.HttpServletRequest;
+import com.ab108.auth.utils.VerifiedToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -18,7 +24,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
-import java.util.Date;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.any;
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,7 +36,7 @@ class UserServiceTest {
   private UserRepository userRepository;
 
   @Mock
-  private UserLogRepository userLogRepository;
+  private AuditLogWriter auditLogWriter;
 
   @Mock
   private JwtUtil jwtUtil;
@@ -38,6 +44,18 @@ class UserServiceTest {
   @Mock
   private PasswordEncoder passwordEncoder;
 
+  @Mock
+  private UserPrincipalCache userPrincipalCache;
+
+  @Mock
+  private LoginAttemptLimiter loginAttemptLimiter;
+
+  @Mock
+  private RefreshTokenService refreshTokenService;
+
+  @Mock
+  private AuthMetrics authMetrics;
+
   @InjectMocks
   private UserService userService;
 
@@ -74,6 +92,7 @@ class UserServiceTest {
     assertEquals("test@example.com", result.getEmail());
     assertEquals("testuser", result.getUsername());
     verify(userRepository, times(1)).save(Mockito.any(User.class));
+    verifyNoInteractions(userPrincipalCache); // 없는 사용자는 캐시하지 않으므로 가입 시 무효화할 항목이 없음
   }
 
   @Test
@@ -106,15 +125,48 @@ class UserServiceTest {
 
     when(userRepository.findUserByEmail(email)).thenReturn(user);
     when(passwordEncoder.matches(password, user.getPassword())).thenReturn(true);
-    when(jwtUtil.createAccessToken(email, Authority.ROLE_USER)).thenReturn("testToken");
+    when(jwtUtil.createAccessToken(user.getId(), email, Authority.ROLE_USER)).thenReturn("testToken");
+    when(refreshTokenService.issue(user.getId(), email)).thenReturn("refreshToken");
+
+    // When
+    TokenPair tokens = userService.login(email, password, "127.0.0.1");
+
+    // Then
+    assertNotNull(tokens);
+    assertEquals("testToken", tokens.getAccessToken());
+    assertEquals("refreshToken", tokens.getRefreshToken());
+    verify(auditLogWriter, times(1)).append(Mockito.any(AuditRecord.class));
+  }
+
+  @Test
+  void testLogin_RehashesWeakPassword() {
+    // Given
+    String email = "test@example.com";
+    String password = "password123";
+    LocalDateTime passwordUpdatedAt = LocalDateTime.now().minusDays(10);
+
+    User user = User.builder()
+      .email(email)
+      .password("weakHash")
+      .username("testuser")
+      .authority(Authority.ROLE_USER)
+      .createdAt(LocalDateTime.now())
+      .passwordUpdatedAt(passwordUpdatedAt)
+      .active(true)
+      .build();
+
+    when(userRepository.findUserByEmail(email)).thenReturn(user);
+    when(passwordEncoder.matches(password, "weakHash")).thenReturn(true);
+    when(passwordEncoder.upgradeEncoding("weakHash")).thenReturn(true);
+    when(passwordEncoder.encode(password)).thenReturn("strongHash");
 
     // When
-    String token = userService.login(email, password);
+    userService.login(email, password, "127.0.0.1");
 
     // Then
-    assertNotNull(token);
-    assertEquals("testToken", token);
-    verify(userLogRepository, times(1)).save(Mockito.any(UserLog.class));
+    assertEquals("strongHash", user.getPassword());
+    assertEquals(passwordUpdatedAt, user.getPasswordUpdatedAt()); // 비밀번호 만료 기준은 그대로
+    verify(userRepository, times(1)).save(user);
   }
 
   @Test
@@ -136,10 +188,11 @@ class UserServiceTest {
     when(userRepository.findUserByEmail(email)).thenReturn(user);
 
     // When / Then
-    UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> userService.login(email, password));
+    UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> userService.login(email, password, "127.0.0.1"));
     assertEquals("비밀번호가 만료되었습니다. 비밀번호를 변경해주세요.", exception.getMessage());
     verify(jwtUtil, times(1)).expireUserTokens(user.getId());
-    verify(userLogRepository, times(1)).save(Mockito.any(UserLog.class));
+    verify(refreshTokenService, times(1)).revokeAll(user.getId());
+    verify(auditLogWriter, times(1)).append(Mockito.any(AuditRecord.class));
   }
 
   @Test
@@ -162,8 +215,22 @@ class UserServiceTest {
     when(passwordEncoder.matches(password, user.getPassword())).thenReturn(false);
 
     // When / Then
-    assertThrows(BadCredentialsException.class, () -> userService.login(email, password));
-    verify(userLogRepository, times(1)).save(Mockito.any(UserLog.class));
+    assertThrows(BadCredentialsException.class, () -> userService.login(email, password, "127.0.0.1"));
+    verify(auditLogWriter, times(1)).append(Mockito.any(AuditRecord.class));
+    verify(loginAttemptLimiter, times(1)).recordFailure(eq(email), eq("127.0.0.1"), anyLong());
+  }
+
+  @Test
+  void testLogin_RateLimitedBeforeLookup() {
+    // Given
+    String email = "test@example.com";
+    when(loginAttemptLimiter.tryAcquire(eq(email), eq("127.0.0.1"), anyLong())).thenReturn(30000L);
+
+    // When / Then
+    TooManyLoginAttemptsException exception =
+      assertThrows(TooManyLoginAttemptsException.class, () -> userService.login(email, "password123", "127.0.0.1"));
+    assertEquals(30000L, exception.getRetryAfterMillis());
+    verifyNoInteractions(userRepository, passwordEncoder, auditLogWriter);
   }
 
   @Test
@@ -182,19 +249,60 @@ class UserServiceTest {
       .active(true)
       .build();
 
-    Claims claims = mock(Claims.class);
-    when(claims.getSubject()).thenReturn(email);
-    when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 3600000)); // 만료 시간 설정
+    long now = System.currentTimeMillis();
+    UUID jti = UUID.fromString("3f2b8e4c-1d8a-4b7e-9c55-2a6f0e1b7d90");
+    VerifiedToken verified = new VerifiedToken(token, email, 1L, 0L, Authority.ROLE_USER, now, now + 3600000, jti); // 만료 시간 설정
 
-    when(jwtUtil.resolveToken(Mockito.any(HttpServletRequest.class))).thenReturn(token);
-    when(jwtUtil.parseClaims(token)).thenReturn(claims);
-    when(userRepository.findUserByEmail(email)).thenReturn(user);
+    when(userPrincipalCache.get(email)).thenReturn(UserPrincipal.from(user));
 
     // When
-    userService.logout(mock(HttpServletRequest.class));
+    userService.logout(verified, "refreshToken");
 
     // Then
-    verify(jwtUtil, times(1)).addToBlacklist(eq(token), anyLong());
-    verify(userLogRepository, times(1)).save(Mockito.any(UserLog.class));
+    verify(jwtUtil, never()).parseToken(Mockito.anyString()); // 필터에서 검증한 토큰을 그대로 사용
+    verify(jwtUtil, times(1)).addToBlacklist(eq(jti), anyLong());
+    verify(refreshTokenService, times(1)).revoke("refreshToken");
+    verify(auditLogWriter, times(1)).append(Mockito.any(AuditRecord.class));
+  }
+
+  @Test
+  void testLogout_WithoutVerifiedToken() {
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> userService.logout(null, "refreshToken"));
+    verify(jwtUtil, never()).addToBlacklist(Mockito.any(UUID.class), anyLong());
+    verifyNoInteractions(refreshTokenService);
+  }
+
+  @Test
+  void testRefresh_IssuesNewPairWithoutHashing() {
+    // Given
+    UserPrincipal principal = new UserPrincipal(1L, "test@example.com", Authority.ROLE_USER, true, LocalDateTime.now());
+
+    when(refreshTokenService.rotate("oldRefresh"))
+      .thenReturn(new RefreshTokenService.Rotation(1L, "test@example.com", "newRefresh"));
+    when(userPrincipalCache.get("test@example.com")).thenReturn(principal);
+    when(jwtUtil.createAccessToken(1L, "test@example.com", Authority.ROLE_USER)).thenReturn("newAccess");
+
+    // When
+    TokenPair tokens = userService.refresh("oldRefresh");
+
+    // Then
+    assertEquals("newAccess", tokens.getAccessToken());
+    assertEquals("newRefresh", tokens.getRefreshToken());
+    verifyNoInteractions(passwordEncoder, userRepository);
+  }
+
+  @Test
+  void testRefresh_InactiveUser() {
+    // Given
+    UserPrincipal principal = new UserPrincipal(1L, "test@example.com", Authority.ROLE_USER, false, LocalDateTime.now());
+    when(refreshTokenService.rotate("oldRefresh"))
+      .thenReturn(new RefreshTokenService.Rotation(1L, "test@example.com", "newRefresh"));
+    when(userPrincipalCache.get("test@example.com")).thenReturn(principal);
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, () -> userService.refresh("oldRefresh"));
+    verify(refreshTokenService, times(1)).revokeAll(1L);
+    verify(jwtUtil, never()).createAccessToken(Mockito.anyLong(), Mockito.anyString(), Mockito.any());
   }
 }